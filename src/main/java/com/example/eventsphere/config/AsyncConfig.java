@@ -0,0 +1,124 @@
+package com.example.eventsphere.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors of the @Async work and of the streamed responses. With
+ * spring.threads.virtual.enabled (Java 21, see application-virtual.yml) they
+ * run their tasks on virtual threads, the pools then only bound how many tasks
+ * run at once and how many may wait.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    public static final String LIVE_UPDATE_EXECUTOR = "liveUpdateExecutor";
+    public static final String LIVE_UPDATE_SEND_EXECUTOR = "liveUpdateSendExecutor";
+    public static final String STREAMING_EXECUTOR = "streamingExecutor";
+    public static final String COMMUNICATION_EXECUTOR = "communicationExecutor";
+
+    /**
+     * Runs notification broadcasts in the background. Broadcasts beyond the
+     * queue capacity are rejected instead of piling up.
+     */
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationExecutor(
+            @Value("${eventsphere.notification-broadcast.threads}") int threads,
+            @Value("${eventsphere.notification-broadcast.queue-capacity}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (virtualThreads)
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("notification-broadcast-").getVirtualThreadFactory());
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-broadcast-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Queues live updates for the stream subscribers off the request threads. A
+     * single thread keeps the updates in publishing order.
+     */
+    @Bean(name = LIVE_UPDATE_EXECUTOR)
+    public ThreadPoolTaskExecutor liveUpdateExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (virtualThreads)
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("live-update-").getVirtualThreadFactory());
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("live-update-");
+        return executor;
+    }
+
+    /**
+     * Writes the queued live updates to the subscriber connections, at most one
+     * task per subscriber at a time, so a stalled client holds one thread and
+     * never the publisher
+     */
+    @Bean(name = LIVE_UPDATE_SEND_EXECUTOR)
+    public ThreadPoolTaskExecutor liveUpdateSendExecutor(
+            @Value("${eventsphere.live-updates.send-threads}") int threads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (virtualThreads)
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("live-update-send-").getVirtualThreadFactory());
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("live-update-send-");
+        return executor;
+    }
+
+    /**
+     * Writes the streamed API responses. Streams beyond the queue capacity are
+     * rejected with 503 so readers cannot pile up behind slow clients.
+     */
+    @Bean(name = STREAMING_EXECUTOR)
+    public ThreadPoolTaskExecutor streamingExecutor(
+            @Value("${eventsphere.streaming.threads}") int threads,
+            @Value("${eventsphere.streaming.queue-capacity}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (virtualThreads)
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("streaming-").getVirtualThreadFactory());
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("streaming-");
+        return executor;
+    }
+
+    /**
+     * Hands the messages sent outside the application to the NotificationSender
+     * after commit. When the queue is full the committing thread sends them
+     * itself, as the transaction can no longer fail.
+     */
+    @Bean(name = COMMUNICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor communicationExecutor(
+            @Value("${eventsphere.communication.threads}") int threads,
+            @Value("${eventsphere.communication.queue-capacity}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (virtualThreads)
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("communication-").getVirtualThreadFactory());
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("communication-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.eventsphere.config;
+
+import com.example.eventsphere.exception.PasswordVerificationRejectedException;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Answers logins rejected by a saturated PasswordVerifier with 503 and a
+ * Retry-After header, both for the login form and for httpBasic clients. Any
+ * other authentication failure keeps the default handling.
+ */
+@Component
+public class AuthenticationOverloadHandler implements AuthenticationEntryPoint, AuthenticationFailureHandler {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final BasicAuthenticationEntryPoint basicEntryPoint = new BasicAuthenticationEntryPoint();
+    private final SimpleUrlAuthenticationFailureHandler formFailureHandler =
+            new SimpleUrlAuthenticationFailureHandler("/login?error=true");
+
+    public AuthenticationOverloadHandler() {
+        basicEntryPoint.setRealmName("Realm");
+    }
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) throws IOException {
+        if (authException instanceof PasswordVerificationRejectedException)
+            rejectOverload(response);
+        else
+            basicEntryPoint.commence(request, response, authException);
+    }
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
+                                        AuthenticationException exception) throws IOException, ServletException {
+        if (exception instanceof PasswordVerificationRejectedException)
+            rejectOverload(response);
+        else
+            formFailureHandler.onAuthenticationFailure(request, response, exception);
+    }
+
+    private void rejectOverload(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many logins, please retry");
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.eventsphere.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Makes the caches of the auto-configured cache manager transaction aware: an
+ * eviction or put inside a transaction happens once it committed, so a reader
+ * cannot cache the old row again between the eviction and the commit.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager
+                        && !(bean instanceof TransactionAwareCacheManagerProxy))
+                    return new TransactionAwareCacheManagerProxy(cacheManager);
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.eventsphere.config;
+
+import com.example.eventsphere.service.NotificationSender;
+import com.example.eventsphere.service.impl.FileNotificationSender;
+import com.example.eventsphere.service.impl.LogNotificationSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Chooses the channel of the messages sent outside the application. Until an
+ * email sender exists, messages go to the log or to a local outbox file.
+ */
+@Configuration
+public class CommunicationConfig {
+
+    public static final String LOG = "log";
+    public static final String FILE = "file";
+
+    @Bean
+    public NotificationSender notificationSender(@Value("${eventsphere.communication.sender}") String sender,
+                                                 @Value("${eventsphere.communication.file}") Path file) {
+        return switch (sender) {
+            case LOG -> new LogNotificationSender();
+            case FILE -> new FileNotificationSender(file);
+            default -> throw new IllegalArgumentException("Unknown notification sender " + sender);
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.eventsphere.config;
+
+import com.example.eventsphere.repository.EventRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Who may manage an event through the REST API: its organizer and admins.
+ * Referenced as {@code @eventAccess} by the method security expressions of the
+ * exported repositories.
+ */
+@Component("eventAccess")
+@AllArgsConstructor
+public class EventAccess {
+
+    EventRepository eventRepository;
+
+    public boolean canManage(int eventId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof EventSpherePrincipal principal))
+            return false;
+        if (principal.isAdmin())
+            return true;
+        Integer organizerId = eventRepository.findOrganizerIdByEventId(eventId);
+        return organizerId != null && organizerId == principal.getUserId();
+    }
+}
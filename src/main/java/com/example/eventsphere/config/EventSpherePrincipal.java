@@ -0,0 +1,49 @@
+package com.example.eventsphere.config;
+
+import com.example.eventsphere.constants.EventManagementSystemConstants;
+import com.example.eventsphere.model.Role;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Immutable identity of the authenticated user. It is built once by
+ * UsernamePwdAuthenticationProvider and kept in the SecurityContext, so request
+ * handling never needs to reload the User entity to know who is calling.
+ */
+@Value
+public class EventSpherePrincipal implements Principal, Serializable {
+
+    public static final int ROLE_USER = 1;
+    public static final int ROLE_ADMIN = 1 << 1;
+
+    int userId;
+    String username;
+    String email;
+    int roleMask;
+
+    public static int toRoleMask(Set<Role> roles) {
+        int roleMask = 0;
+        for (Role role : roles) {
+            if (EventManagementSystemConstants.ADMIN_ROLE.equals(role.getRoleName()))
+                roleMask |= ROLE_ADMIN;
+            else if (EventManagementSystemConstants.USER_ROLE.equals(role.getRoleName()))
+                roleMask |= ROLE_USER;
+        }
+        return roleMask;
+    }
+
+    public boolean isAdmin() {
+        return (roleMask & ROLE_ADMIN) != 0;
+    }
+
+    /**
+     * @return email, the login name of the user
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+}
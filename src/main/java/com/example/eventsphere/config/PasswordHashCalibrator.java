@@ -0,0 +1,88 @@
+package com.example.eventsphere.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Picks the cost parameters of the password hashes so that one hash takes
+ * about the configured time on this host. The cost is never lowered below
+ * the library defaults, so slow hosts keep at least today's security.
+ */
+public class PasswordHashCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashCalibrator.class);
+
+    public static final int MIN_BCRYPT_STRENGTH = 10;
+    public static final int MAX_BCRYPT_STRENGTH = 16;
+
+    public static final int ARGON2_SALT_LENGTH = 16;
+    public static final int ARGON2_HASH_LENGTH = 32;
+    public static final int ARGON2_PARALLELISM = 1;
+    public static final int ARGON2_MEMORY_KIB = 1 << 14;
+    public static final int MIN_ARGON2_ITERATIONS = 2;
+    public static final int MAX_ARGON2_ITERATIONS = 32;
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+    private static final int SAMPLES = 3;
+
+    private PasswordHashCalibrator() {
+
+    }
+
+    /**
+     * BCrypt doubles its work with every strength step, so one measurement at
+     * the minimum strength is enough to extrapolate.
+     *
+     * @param targetLatency wanted duration of one hash
+     * @return BCrypt strength between MIN_BCRYPT_STRENGTH and MAX_BCRYPT_STRENGTH
+     */
+    public static int calibrateBCryptStrength(Duration targetLatency) {
+        long nanos = medianHashNanos(BCryptPasswordEncoder::new, MIN_BCRYPT_STRENGTH);
+        int steps = (int) Math.floor(Math.log((double) targetLatency.toNanos() / nanos) / Math.log(2));
+        int strength = Math.max(MIN_BCRYPT_STRENGTH, Math.min(MAX_BCRYPT_STRENGTH, MIN_BCRYPT_STRENGTH + steps));
+        logger.info("BCrypt strength {} took {} ms, using strength {} for a target of {} ms", MIN_BCRYPT_STRENGTH,
+                nanos / 1_000_000, strength, targetLatency.toMillis());
+        return strength;
+    }
+
+    /**
+     * Argon2 work grows linearly with the iterations at a fixed memory size.
+     *
+     * @param targetLatency wanted duration of one hash
+     * @return Argon2 iterations between MIN_ARGON2_ITERATIONS and MAX_ARGON2_ITERATIONS
+     */
+    public static int calibrateArgon2Iterations(Duration targetLatency) {
+        long nanos = medianHashNanos(PasswordHashCalibrator::argon2, 1);
+        int iterations = (int) Math.max(MIN_ARGON2_ITERATIONS,
+                Math.min(MAX_ARGON2_ITERATIONS, targetLatency.toNanos() / nanos));
+        logger.info("Argon2 with {} KiB and 1 iteration took {} ms, using {} iterations for a target of {} ms",
+                ARGON2_MEMORY_KIB, nanos / 1_000_000, iterations, targetLatency.toMillis());
+        return iterations;
+    }
+
+    public static Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM,
+                ARGON2_MEMORY_KIB, iterations);
+    }
+
+    private static long medianHashNanos(IntFunction<PasswordEncoder> encoderFactory, int cost) {
+        PasswordEncoder encoder = encoderFactory.apply(cost);
+        // the first hash pays for class loading and JIT warm-up
+        encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return Math.max(1, samples[SAMPLES / 2]);
+    }
+}
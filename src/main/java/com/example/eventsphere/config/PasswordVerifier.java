@@ -0,0 +1,165 @@
+package com.example.eventsphere.config;
+
+import com.example.eventsphere.constants.UserConstants;
+import com.example.eventsphere.exception.PasswordVerificationRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the deliberately slow password hashing and comparison on a pool sized to the
+ * CPU cores with a bounded queue, so a login storm can only keep that many
+ * cores busy and excess logins are rejected fast instead of holding every
+ * request thread on the CPU.
+ *
+ * Successful verifications are remembered as an HMAC of the stored hash and
+ * the raw password under a per-process random key, so httpBasic clients that
+ * resend their credentials on every call skip the hash after the first one.
+ * A changed password changes the stored hash and therefore misses the cache.
+ */
+@Component
+public class PasswordVerifier {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder passwordEncoder;
+    private final Cache verifiedCredentials;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final SecretKeySpec credentialKey;
+
+    private final Timer verificationTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder, CacheManager cacheManager, MeterRegistry meterRegistry,
+                            @Value("${eventsphere.password-verification.queue-capacity}") int queueCapacity,
+                            @Value("${eventsphere.password-verification.timeout}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.verifiedCredentials = cacheManager.getCache(UserConstants.VERIFIED_CREDENTIALS_CACHE);
+        this.timeout = timeout;
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-verification-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.verification");
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.credentialKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+
+        this.verificationTimer = Timer.builder("password.verification.latency")
+                .description("Time from submitting a password verification until its result, queueing included")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.verification.rejected")
+                .description("Password verifications rejected because the pool was saturated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check a raw password against the stored hash of the user
+     *
+     * @param email           login name, the key of the verified-credential cache
+     * @param rawPassword     password sent by the client
+     * @param encodedPassword stored password hash
+     * @return true if the password matches
+     * @throws PasswordVerificationRejectedException if the pool is saturated or
+     *                                               the verification timed out
+     */
+    public boolean matches(String email, String rawPassword, String encodedPassword) {
+        byte[] credentialMac = credentialMac(encodedPassword, rawPassword);
+        byte[] verifiedMac = verifiedCredentials.get(email, byte[].class);
+        if (verifiedMac != null && MessageDigest.isEqual(verifiedMac, credentialMac))
+            return true;
+
+        boolean matches = verify(rawPassword, encodedPassword);
+        if (matches)
+            verifiedCredentials.put(email, credentialMac);
+        return matches;
+    }
+
+    /**
+     * Hash a password on the same bounded pool
+     *
+     * @param rawPassword password to hash
+     * @return encoded password
+     * @throws PasswordVerificationRejectedException if the pool is saturated or
+     *                                               hashing timed out
+     */
+    public String encode(String rawPassword) {
+        return runOnPool(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private boolean verify(String rawPassword, String encodedPassword) {
+        return runOnPool(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T runOnPool(Callable<T> hashing) {
+        long start = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordVerificationRejectedException("Password verification queue is full", e);
+        }
+
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejectedCounter.increment();
+            throw new PasswordVerificationRejectedException("Password verification timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordVerificationRejectedException("Password verification interrupted", e);
+        } catch (ExecutionException e) {
+            throw new AuthenticationServiceException("Password verification failed", e.getCause());
+        } finally {
+            verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private byte[] credentialMac(String encodedPassword, String rawPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(credentialKey);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
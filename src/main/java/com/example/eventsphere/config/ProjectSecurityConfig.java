@@ -1,45 +1,81 @@
 package com.example.eventsphere.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
+@EnableMethodSecurity
 public class ProjectSecurityConfig {
 
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
     @Bean
-    SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http,
+                                                   AuthenticationOverloadHandler authenticationOverloadHandler) throws Exception {
 
         http.authorizeHttpRequests((request) -> request
                         .requestMatchers("/dashboard").authenticated()
                         .requestMatchers("/displayEvents").authenticated()
                         .requestMatchers("/displayProfile").authenticated()
+                        .requestMatchers("/displayCalendar").authenticated()
                         .requestMatchers("/updateEvent").authenticated()
                         .requestMatchers("/joinEvent").authenticated()
                         .requestMatchers("/leaveEvent").authenticated()
                         .requestMatchers("/createNotification").authenticated()
                         .requestMatchers("/getNotifications").authenticated()
+                        .requestMatchers("/markNotificationRead").authenticated()
+                        .requestMatchers("/markEventNotificationsRead").authenticated()
+                        .requestMatchers("/markAllNotificationsRead").authenticated()
                         .requestMatchers("/api/**").authenticated()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/", "/home").permitAll()
                         .requestMatchers("/login").permitAll()
                         .requestMatchers("/logout").permitAll()
-                        .requestMatchers("/public/**").permitAll())
+                        .requestMatchers("/public/**").permitAll()
+                        .requestMatchers("/assets/**").permitAll())
                 .formLogin(loginConfigurer -> loginConfigurer.loginPage("/login")
-                        .defaultSuccessUrl("/dashboard", true).failureUrl("/login?error=true").permitAll())
+                        .defaultSuccessUrl("/dashboard", true).failureHandler(authenticationOverloadHandler).permitAll())
                 .logout(logoutConfigurer -> logoutConfigurer.logoutSuccessUrl("/login?logout=true")
                         .invalidateHttpSession(true).permitAll())
-                .httpBasic(Customizer.withDefaults());
+                .httpBasic(basicConfigurer -> basicConfigurer.authenticationEntryPoint(authenticationOverloadHandler));
 
         return http.build();
     }
 
+    /**
+     * Encodes new hashes with the configured algorithm at a cost calibrated to
+     * the target latency on this host, while still matching hashes of every
+     * supported algorithm and cost. Hashes stored before the {id} prefix was
+     * introduced are BCrypt.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${eventsphere.password-encoding.algorithm}") String algorithm,
+                                           @Value("${eventsphere.password-encoding.target-latency}") Duration targetLatency) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, BCRYPT.equals(algorithm)
+                ? new BCryptPasswordEncoder(PasswordHashCalibrator.calibrateBCryptStrength(targetLatency))
+                : new BCryptPasswordEncoder());
+        encoders.put(ARGON2, ARGON2.equals(algorithm)
+                ? PasswordHashCalibrator.argon2(PasswordHashCalibrator.calibrateArgon2Iterations(targetLatency))
+                : Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+        return passwordEncoder;
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.example.eventsphere.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.webmvc.config.RepositoryRestConfigurer;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+
+/**
+ * Spring Data REST exports only the repositories annotated with
+ * @RepositoryRestResource and, of those, only the methods annotated with
+ * @RestResource. Every exported resource is read-only.
+ */
+@Configuration
+public class RestConfig implements RepositoryRestConfigurer {
+
+    @Override
+    public void configureRepositoryRestConfiguration(RepositoryRestConfiguration config, CorsRegistry cors) {
+        config.setExposeRepositoryMethodsByDefault(false);
+        config.getExposureConfiguration()
+                .disablePutForCreation()
+                .withItemExposure((metadata, httpMethods) -> httpMethods.disable(HttpMethod.PUT, HttpMethod.PATCH,
+                        HttpMethod.DELETE))
+                .withCollectionExposure((metadata, httpMethods) -> httpMethods.disable(HttpMethod.POST))
+                .withAssociationExposure((metadata, httpMethods) -> httpMethods.disable(HttpMethod.PUT,
+                        HttpMethod.PATCH, HttpMethod.POST, HttpMethod.DELETE));
+    }
+
+    /**
+     * ETags of the REST resources, a client sending If-None-Match gets 304 when
+     * the rendered resource did not change. Not mapped to the streaming
+     * endpoints, the filter buffers the whole response.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> restEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/events/*", "/api/notifications/*");
+        return registration;
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.eventsphere.config;
 
+import com.example.eventsphere.dto.UserAccountDto;
+import com.example.eventsphere.exception.PasswordVerificationRejectedException;
 import com.example.eventsphere.model.Role;
-import com.example.eventsphere.model.User;
 import com.example.eventsphere.repository.UserRepository;
+import com.example.eventsphere.service.UserService;
 import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -22,24 +26,47 @@ import java.util.Set;
 @AllArgsConstructor
 public class UsernamePwdAuthenticationProvider implements AuthenticationProvider {
 
+    private static final Logger logger = LoggerFactory.getLogger(UsernamePwdAuthenticationProvider.class);
+
     private UserRepository userRepository;
+    private UserService userService;
     private PasswordEncoder passwordEncoder;
+    private PasswordVerifier passwordVerifier;
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
         String email = authentication.getName();
         String pwd = authentication.getCredentials().toString();
-        User user = userRepository.findByEmail(email)
+        UserAccountDto user = userRepository.findAccountByEmail(email)
                 .orElseThrow(() -> new BadCredentialsException("Invalid credentials!"));
-        user.setRoles(userRepository.findRolesByUserId(user.getUserId()));
-        if (passwordEncoder.matches(pwd, user.getPwd())) {
-            return new UsernamePasswordAuthenticationToken(email, null, getGrantedAuthorities(user.getRoles()));
+        if (passwordVerifier.matches(user.getEmail(), pwd, user.getPwd())) {
+            upgradePasswordIfStale(user, pwd);
+            Set<Role> roles = userRepository.findRolesByUserId(user.getUserId());
+            EventSpherePrincipal principal = new EventSpherePrincipal(user.getUserId(), user.getUsername(),
+                    user.getEmail(), EventSpherePrincipal.toRoleMask(roles));
+            return new UsernamePasswordAuthenticationToken(principal, null, getGrantedAuthorities(roles));
         } else {
             throw new BadCredentialsException("Invalid credentials!");
         }
 
     }
 
+    /**
+     * Rehash the password with the current algorithm and cost while the raw
+     * password is at hand. Failing to do so must not fail the login, the next
+     * login will try again.
+     */
+    private void upgradePasswordIfStale(UserAccountDto user, String pwd) {
+        if (!passwordEncoder.upgradeEncoding(user.getPwd()))
+            return;
+        try {
+            if (userService.upgradePassword(user.getEmail(), user.getPwd(), passwordVerifier.encode(pwd)))
+                logger.debug("Upgraded password hash of user {}", user.getUserId());
+        } catch (PasswordVerificationRejectedException e) {
+            logger.debug("Skipped password hash upgrade of user {}: {}", user.getUserId(), e.getMessage());
+        }
+    }
+
     private List<GrantedAuthority> getGrantedAuthorities(Set<Role> roles) {
         List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
         for (Role role : roles) {
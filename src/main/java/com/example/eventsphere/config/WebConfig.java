@@ -0,0 +1,53 @@
+package com.example.eventsphere.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor streamingExecutor;
+    private final Duration streamingTimeout;
+
+    public WebConfig(@Qualifier(AsyncConfig.STREAMING_EXECUTOR) AsyncTaskExecutor streamingExecutor,
+                     @Value("${eventsphere.streaming.timeout}") Duration streamingTimeout) {
+        this.streamingExecutor = streamingExecutor;
+        this.streamingTimeout = streamingTimeout;
+    }
+
+    /**
+     * Streaming responses write their rows on the streaming executor instead of
+     * on a new thread per request.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+        configurer.setDefaultTimeout(streamingTimeout.toMillis());
+    }
+
+    /**
+     * Assets are served under URLs carrying a hash of their content, which the
+     * templates get from @{...} links and the stylesheets from their rewritten
+     * url(...) references. A changed file gets a new URL, so browsers may keep
+     * every version for a year without revalidating.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"))
+                .addTransformer(new CssLinkResourceTransformer());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.eventsphere.constants;
+
+/**
+ * State of a notification broadcast to the participants of an event
+ */
+public enum BroadcastStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
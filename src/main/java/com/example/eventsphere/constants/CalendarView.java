@@ -0,0 +1,15 @@
+package com.example.eventsphere.constants;
+
+/**
+ * Range shown by the event calendar and the buckets it is split into
+ */
+public enum CalendarView {
+    /**
+     * Calendar month in weeks starting on Monday, cut at the month boundaries
+     */
+    MONTH,
+    /**
+     * Week from Monday to Sunday in days
+     */
+    WEEK
+}
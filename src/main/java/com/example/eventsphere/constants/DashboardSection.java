@@ -0,0 +1,24 @@
+package com.example.eventsphere.constants;
+
+/**
+ * Sections of the user events page, selected by name as the first column of
+ * the dashboard query
+ */
+public enum DashboardSection {
+    /**
+     * Events the user organizes
+     */
+    ORGANIZED,
+    /**
+     * Events the user participates in
+     */
+    ENROLLED,
+    /**
+     * Events the user waits for a seat of
+     */
+    WAITLISTED,
+    /**
+     * Every other event, paged by name
+     */
+    AVAILABLE
+}
@@ -12,4 +12,8 @@ public class EventConstants {
     public static final String STATUS_417 = "417";
     public static final String MESSAGE_417_UPDATE = "Update operation failed. Please try again or contact Dev team";
     public static final String MESSAGE_417_DELETE = "Delete operation failed. Please try again or contact Dev team";
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_CALENDAR_EVENTS = 500;
+    public static final String DASHBOARD_QUERY_REGION = "event-dashboard";
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.eventsphere.constants;
+
+import java.time.LocalDate;
+
+/**
+ * Date facets of the event search, in days relative to today. The next 7 and
+ * next 30 days ranges overlap.
+ */
+public enum EventDateRange {
+    PAST("past", Long.MIN_VALUE, -1),
+    NEXT_7_DAYS("next7Days", 0, 6),
+    NEXT_30_DAYS("next30Days", 0, 29),
+    LATER("later", 30, Long.MAX_VALUE);
+
+    private final String label;
+    private final long fromDay;
+    private final long toDay;
+
+    EventDateRange(String label, long fromDay, long toDay) {
+        this.label = label;
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return first epoch day of the range, inclusive
+     */
+    public long getFromEpochDay(LocalDate today) {
+        return fromDay == Long.MIN_VALUE ? Long.MIN_VALUE : today.toEpochDay() + fromDay;
+    }
+
+    /**
+     * @return last epoch day of the range, inclusive
+     */
+    public long getToEpochDay(LocalDate today) {
+        return toDay == Long.MAX_VALUE ? Long.MAX_VALUE : today.toEpochDay() + toDay;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.eventsphere.constants;
+
+/**
+ * Outcome of a request to join an event
+ */
+public enum EventJoinStatus {
+    JOINED,
+    ALREADY_JOINED,
+    /**
+     * every seat of the event is taken, the user waits for a seat
+     */
+    WAITLISTED,
+    /**
+     * organizers cannot join their own event
+     */
+    ORGANIZER
+}
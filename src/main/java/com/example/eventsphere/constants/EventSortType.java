@@ -0,0 +1,16 @@
+package com.example.eventsphere.constants;
+
+/**
+ * Orderings supported by the keyset paginated event catalog. Every ordering
+ * uses eventId as tie breaker so that the seek position is always unique.
+ */
+public enum EventSortType {
+    /**
+     * eventName descending, eventId descending
+     */
+    NAME,
+    /**
+     * eventDate ascending, eventId ascending (undated events are skipped)
+     */
+    DATE
+}
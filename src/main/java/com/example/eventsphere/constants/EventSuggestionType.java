@@ -0,0 +1,9 @@
+package com.example.eventsphere.constants;
+
+/**
+ * Event field a typeahead suggestion completes
+ */
+public enum EventSuggestionType {
+    NAME,
+    LOCATION
+}
@@ -0,0 +1,21 @@
+package com.example.eventsphere.constants;
+
+/**
+ * Kind of change pushed to the live update stream, with the name of the
+ * Server-Sent Event it is sent as
+ */
+public enum LiveUpdateType {
+    NOTIFICATION("notification"),
+    PARTICIPANT_JOINED("participants"),
+    PARTICIPANT_LEFT("participants");
+
+    private final String eventName;
+
+    LiveUpdateType(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+}
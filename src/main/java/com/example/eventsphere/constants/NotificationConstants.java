@@ -12,4 +12,8 @@ public class NotificationConstants {
     public static final String STATUS_417 = "417";
     public static final String MESSAGE_417_UPDATE = "Update operation failed. Please try again or contact Dev team";
     public static final String MESSAGE_417_DELETE = "Delete operation failed. Please try again or contact Dev team";
+    public static final String WAITLIST_PROMOTION_CONTENT = "A seat became available, you are now participating in %s";
+    public static final String REMINDER_CONTENT = "Reminder: %s starts in %s, on %s at %s";
+    public static final String REMINDER_SUBJECT = "Upcoming event: %s";
+    public static final String NOTIFICATION_SUBJECT = "News about %s";
 }
\ No newline at end of file
@@ -12,4 +12,9 @@ public class UserConstants {
     public static final String STATUS_417 = "417";
     public static final String MESSAGE_417_UPDATE = "Update operation failed. Please try again or contact Dev team";
     public static final String MESSAGE_417_DELETE = "Delete operation failed. Please try again or contact Dev team";
+    public static final String USERS_BY_EMAIL_CACHE = "usersByEmail";
+    public static final String ROLES_BY_USER_ID_CACHE = "rolesByUserId";
+    public static final String VERIFIED_CREDENTIALS_CACHE = "verifiedCredentials";
+    public static final String WELCOME_SUBJECT = "Welcome to EventSphere";
+    public static final String WELCOME_BODY = "Hello %s, your account is ready, join the upcoming events you like.";
 }
@@ -1,22 +1,29 @@
 package com.example.eventsphere.controller;
 
+import com.example.eventsphere.config.EventSpherePrincipal;
+import com.example.eventsphere.constants.EventJoinStatus;
+import com.example.eventsphere.constants.EventSortType;
+import com.example.eventsphere.dto.BroadcastJobDto;
+import com.example.eventsphere.dto.CursorPageDto;
 import com.example.eventsphere.dto.EventDto;
 import com.example.eventsphere.dto.NotificationDto;
 import com.example.eventsphere.exception.ResourceNotFoundException;
 import com.example.eventsphere.model.Event;
 import com.example.eventsphere.model.Notification;
 import com.example.eventsphere.model.User;
+import com.example.eventsphere.service.ContentVersionService;
 import com.example.eventsphere.service.EventService;
 import com.example.eventsphere.service.NotificationService;
 import com.example.eventsphere.service.UserService;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.util.List;
@@ -30,32 +37,42 @@ public class AdminController {
     EventService eventService;
     NotificationService notificationService;
     UserService userService;
+    ContentVersionService contentVersionService;
 
     /**
      * Displays the events for admin users.
      *
      * @param model          Spring MVC Model object.
-     * @param authentication Authentication object providing user authentication
-     *                       details.
+     * @param principal      Authenticated principal of the logged-in admin.
+     * @param sort           Optional ordering of the events (NAME or DATE).
+     * @param cursor         Optional cursor of the page to display.
+     * @param size           Optional page size.
+     * @param webRequest     Request to answer with 304 if the events did not
+     *                       change.
      * @return ModelAndView object containing the events_secure.html page and
-     *         related model data.
-     * @throws ResourceNotFoundException Thrown if the specified user is not found.
+     *         related model data, null if the browser's copy is up to date.
      */
 
     @GetMapping("/displayEvents")
-    public ModelAndView displayEvents(Model model, Authentication authentication) {
-
-        List<Event> eventList = eventService.fetchAllSortedDesc();
+    public ModelAndView displayEvents(Model model, @AuthenticationPrincipal EventSpherePrincipal principal,
+                                      @RequestParam(defaultValue = "NAME") EventSortType sort,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer size,
+                                      ServletWebRequest webRequest) {
+        if (PageVersions.isNotModified(webRequest, contentVersionService.fetchCatalogVersion()))
+            return null;
 
-        User user = userService.readUser(authentication.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", authentication.getName()));
+        CursorPageDto<Event> eventPage = eventService.fetchEventPage(sort, cursor, size);
 
         ModelAndView modelAndView = new ModelAndView("events_secure");
 
-        modelAndView.addObject("eventList", eventList);
+        modelAndView.addObject("eventList", eventPage.getContent());
+        modelAndView.addObject("eventPage", eventPage);
+        modelAndView.addObject("sort", sort);
+        modelAndView.addObject("isFirstPage", cursor == null || cursor.isBlank());
         modelAndView.addObject("eventDto", new EventDto());
         modelAndView.addObject("notificationDto", new NotificationDto());
-        modelAndView.addObject("userId", user.getUserId());
+        modelAndView.addObject("userId", principal.getUserId());
 
         // modelAndView.addObject("isAdmin", userService.isAdmin());
         return modelAndView;
@@ -128,13 +145,14 @@ public class AdminController {
         Event event = eventService.fetchEvent(id);
         List<User> participants = eventService.fetchParticipantsByEventId(id);
 
-        event.setParticipants(participants);
         modelAndView.addObject("event", event);
+        modelAndView.addObject("participants", participants);
         modelAndView.addObject("user", new User());
         session.setAttribute("event", event);
 
         if (error != null) {
-            errorMessage = "Invalid Email!";
+            errorMessage = "full".equals(error) ? "Event is full! The user has been added to the waitlist."
+                    : "Invalid Email!";
             modelAndView.addObject("errorMessage", errorMessage);
         }
 
@@ -164,14 +182,9 @@ public class AdminController {
             return modelAndView;
         }
 
-        User userEntity = optionalUserEntity.get();
-
-        userEntity.getEvents().add(event);
-        event.getParticipants().add(userEntity);
-        userService.updateUser(userEntity);
-        session.setAttribute("event", event);
-
         modelAndView.setViewName("redirect:/admin/manageParticipants?id=" + event.getEventId());
+        if (eventService.joinEvent(optionalUserEntity.get().getUserId(), event.getEventId()) == EventJoinStatus.WAITLISTED)
+            modelAndView.setViewName("redirect:/admin/manageParticipants?error=full&id=" + event.getEventId());
 
         return modelAndView;
     }
@@ -198,12 +211,7 @@ public class AdminController {
             return modelAndView;
         }
 
-        User userEntity = optionalUser.get();
-
-        userEntity.getEvents().remove(event);
-        event.getParticipants().remove(userEntity);
-        eventService.updateEvent(event);
-        session.setAttribute("event", event);
+        eventService.leaveEvent(optionalUser.get().getUserId(), event.getEventId());
 
         return modelAndView;
     }
@@ -248,6 +256,41 @@ public class AdminController {
         return modelAndView;
     }
 
+    /**
+     * Sends a notification to every participant of its event in the background.
+     *
+     * @param notificationDto NotificationDto object containing the content and
+     *                        the event of the notification.
+     * @param errors          Errors object containing validation errors.
+     * @return ModelAndView object, redirects to the displayEvents page which
+     *         polls the progress of the broadcast.
+     */
+    @PostMapping("/broadcastNotification")
+    public ModelAndView broadcastNotification(@Valid @ModelAttribute("notificationDto") NotificationDto notificationDto,
+                                              Errors errors) {
+        if (errors.hasErrors())
+            return new ModelAndView("redirect:/admin/displayEvents");
+
+        String jobId = notificationService.broadcastNotification(notificationDto);
+
+        return new ModelAndView("redirect:/admin/displayEvents?broadcastJobId=" + jobId);
+    }
+
+    /**
+     * Returns the progress of a notification broadcast for the admin UI to poll.
+     *
+     * @param jobId ID of the broadcast job.
+     * @return BroadcastJobDto with the status and the number of notified
+     *         recipients.
+     * @throws ResourceNotFoundException Thrown if the job is unknown or expired.
+     */
+    @GetMapping("/broadcastStatus")
+    @ResponseBody
+    public BroadcastJobDto fetchBroadcastStatus(@RequestParam String jobId) {
+        return notificationService.fetchBroadcastJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Broadcast", "jobId", jobId));
+    }
+
     /**
      * Deletes the specified notification.
      *
@@ -0,0 +1,108 @@
+package com.example.eventsphere.controller;
+
+import com.example.eventsphere.config.EventSpherePrincipal;
+import com.example.eventsphere.service.CatalogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Read-only catalog API as newline delimited JSON. The rows are written page
+ * by page on the streaming executor, so neither the request threads nor the
+ * heap hold the whole listing; a slow client slows down the reading of the
+ * next page through the socket buffer, without holding a connection.
+ */
+@Controller
+@AllArgsConstructor
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+    private static final byte[] LINE_SEPARATOR = { '\n' };
+
+    CatalogService catalogService;
+    ObjectMapper objectMapper;
+
+    /**
+     * Streams the events from the given date on, with their participant counts.
+     *
+     * @param from First event date to include, today if not given.
+     * @return ResponseEntity streaming one event per line.
+     */
+    @GetMapping("/events")
+    public ResponseEntity<StreamingResponseBody> streamEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        LocalDate eventDate = from != null ? from : LocalDate.now();
+        return ndjson(out -> catalogService.streamEvents(eventDate, lines(out)));
+    }
+
+    /**
+     * Streams only the participant counts of the events from the given date on.
+     *
+     * @param from First event date to include, today if not given.
+     * @return ResponseEntity streaming one eventId - participant count pair per
+     *         line.
+     */
+    @GetMapping("/participantCounts")
+    public ResponseEntity<StreamingResponseBody> streamParticipantCounts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        LocalDate eventDate = from != null ? from : LocalDate.now();
+        return ndjson(out -> catalogService.streamParticipantCounts(eventDate, lines(out)));
+    }
+
+    /**
+     * Streams the notifications received by the authenticated user, newest
+     * first.
+     *
+     * @param eventId   Optional ID of the event to restrict the notifications to.
+     * @param principal Authenticated principal of the logged-in user.
+     * @return ResponseEntity streaming one notification per line.
+     */
+    @GetMapping("/notifications")
+    public ResponseEntity<StreamingResponseBody> streamNotifications(
+            @RequestParam(required = false) Integer eventId,
+            @AuthenticationPrincipal EventSpherePrincipal principal) {
+        int userId = principal.getUserId();
+        return ndjson(out -> catalogService.streamNotifications(userId, eventId, lines(out)));
+    }
+
+    /**
+     * The streaming executor is full, the client should retry shortly.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Void> handleRejectedStream() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private <T> Consumer<T> lines(OutputStream out) {
+        return row -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write(LINE_SEPARATOR);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.eventsphere.controller;
+
+import com.example.eventsphere.config.EventAccess;
+import com.example.eventsphere.exception.ResourceNotFoundException;
+import com.example.eventsphere.repository.EventRepository;
+import com.example.eventsphere.repository.EventRepository.ParticipantSummary;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+/**
+ * Paged participants of an event for the REST API, in place of the
+ * participants association, which would load the whole collection.
+ */
+@RepositoryRestController
+@AllArgsConstructor
+public class EventParticipantController {
+
+    EventRepository eventRepository;
+    EventAccess eventAccess;
+    PagedResourcesAssembler<ParticipantSummary> pagedResourcesAssembler;
+
+    /**
+     * Lists the participants of the event, for its organizer and for admins.
+     *
+     * @param eventId   ID of the event.
+     * @param pageable  Page to return, capped at the maximum page size.
+     * @return ResponseEntity with the page of participants.
+     */
+    @GetMapping("/events/{eventId}/participants")
+    public ResponseEntity<PagedModel<EntityModel<ParticipantSummary>>> displayParticipants(
+            @PathVariable int eventId, Pageable pageable) {
+        if (eventRepository.findById(eventId) == null)
+            throw new ResourceNotFoundException("Event", "id", String.valueOf(eventId));
+        if (!eventAccess.canManage(eventId))
+            throw new AccessDeniedException("Only the organizer can list the participants");
+
+        return ResponseEntity.ok(pagedResourcesAssembler.toModel(
+                eventRepository.findParticipantSummariesByEventId(eventId, pageable)));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.eventsphere.controller;
+
+import com.example.eventsphere.constants.EventSuggestionType;
+import com.example.eventsphere.dto.EventSuggestionDto;
+import com.example.eventsphere.service.EventSuggestService;
+import lombok.AllArgsConstructor;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+/**
+ * Typeahead of the event forms and the event search, next to the events
+ * resource of the REST API.
+ */
+@RepositoryRestController
+@AllArgsConstructor
+public class EventSuggestController {
+
+    EventSuggestService eventSuggestService;
+
+    /**
+     * Suggests event names and locations for what the user typed so far.
+     *
+     * @param q     Prefix of the name or location, or of one of their words.
+     * @param type  Optional NAME or LOCATION, both if not given.
+     * @param limit Optional number of suggestions.
+     * @return ResponseEntity with the suggestions, most participants first.
+     */
+    @GetMapping("/events/suggest")
+    public ResponseEntity<List<EventSuggestionDto>> suggest(@RequestParam String q,
+                                                            @RequestParam(required = false) EventSuggestionType type,
+                                                            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(eventSuggestService.suggest(q, type, limit));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.eventsphere.controller;
+
+import com.example.eventsphere.config.EventSpherePrincipal;
+import com.example.eventsphere.service.impl.LiveUpdateHub;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+@Controller
+@AllArgsConstructor
+@RequestMapping("/api/stream")
+public class LiveUpdateController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateController.class);
+
+    LiveUpdateHub liveUpdateHub;
+
+    /**
+     * Streams new notifications and participant counts of the events the
+     * authenticated user is enrolled in as Server-Sent Events.
+     *
+     * @param principal   Authenticated principal of the logged-in user.
+     * @param lastEventId ID of the last event the client received, sent by the
+     *                    browser when it reconnects.
+     * @return SseEmitter of the stream.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamEvents(@AuthenticationPrincipal EventSpherePrincipal principal,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return liveUpdateHub.subscribe(principal.getUserId(), lastEventId);
+    }
+
+    /**
+     * A client that went away fails the next send to its stream, there is no
+     * response left to write an error to.
+     */
+    @ExceptionHandler(IOException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public void handleClosedStream(IOException e) {
+        logger.debug("Live update stream closed by the client: {}", e.getMessage());
+    }
+}
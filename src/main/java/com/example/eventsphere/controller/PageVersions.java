@@ -0,0 +1,31 @@
+package com.example.eventsphere.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET of the rendered pages. The page version becomes a weak ETag,
+ * weak as the CSRF tokens in the forms are masked differently on every render,
+ * and the browser is told to revalidate the page on every use.
+ */
+final class PageVersions {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private PageVersions() {
+    }
+
+    /**
+     * Answer the request with 304 Not Modified if the browser has the page of the
+     * given version. The session is part of the ETag, a page rendered for an
+     * earlier session carries a CSRF token that is no longer valid.
+     *
+     * @return true if the response is complete and the page must not be rendered
+     */
+    static boolean isNotModified(ServletWebRequest webRequest, String version) {
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        String session = Integer.toHexString(webRequest.getSessionId().hashCode());
+        return webRequest.checkNotModified("W/\"" + version + "-" + session + "\"");
+    }
+}
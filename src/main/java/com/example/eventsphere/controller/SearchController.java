@@ -0,0 +1,48 @@
+package com.example.eventsphere.controller;
+
+import com.example.eventsphere.dto.EventSearchResultDto;
+import com.example.eventsphere.service.EventSearchService;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.time.LocalDate;
+
+@Controller
+@AllArgsConstructor
+@RequestMapping("/api/search")
+public class SearchController {
+
+    EventSearchService eventSearchService;
+
+    /**
+     * Searches the events by name and location, tolerating typos and
+     * unfinished words.
+     *
+     * @param q        Optional words to search for, all events if not given.
+     * @param from     Optional first event date to include.
+     * @param to       Optional last event date to include.
+     * @param location Optional location to restrict the events to, as returned
+     *                 in the location facets.
+     * @param page     Zero based page number.
+     * @param size     Optional page size.
+     * @return EventSearchResultDto with one page of hits and the location and
+     *         date facet counts of all matching events.
+     */
+    @GetMapping("/events")
+    @ResponseBody
+    public EventSearchResultDto searchEvents(@RequestParam(required = false) String q,
+                                             @RequestParam(required = false)
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                             @RequestParam(required = false)
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                             @RequestParam(required = false) String location,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(required = false) Integer size) {
+        return eventSearchService.searchEvents(q, from, to, location, page, size);
+    }
+}
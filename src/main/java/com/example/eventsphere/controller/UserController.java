@@ -1,15 +1,21 @@
 package com.example.eventsphere.controller;
 
+import com.example.eventsphere.config.EventSpherePrincipal;
+import com.example.eventsphere.constants.CalendarView;
+import com.example.eventsphere.constants.EventJoinStatus;
+import com.example.eventsphere.dto.EventDashboardDto;
 import com.example.eventsphere.dto.NotificationDto;
 import com.example.eventsphere.model.Event;
 import com.example.eventsphere.model.Notification;
-import com.example.eventsphere.model.User;
+import com.example.eventsphere.service.ContentVersionService;
 import com.example.eventsphere.service.EventService;
 import com.example.eventsphere.service.NotificationService;
 import com.example.eventsphere.service.UserService;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
@@ -17,10 +23,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 @AllArgsConstructor
@@ -29,43 +36,51 @@ public class UserController {
     UserService userService;
     NotificationService notificationService;
     EventService eventService;
+    ContentVersionService contentVersionService;
 
     /**
      * Displays the events page with organized, enrolled, and available events for
      * the logged-in user.
      *
-     * This function retrieves the user information from the session, fetches
-     * organized, enrolled, and available events,
+     * This function takes the user information from the authenticated principal, fetches
+     * organized and enrolled events and one page of the events the user can still
+     * join in a single query,
      * and prepares the data to be displayed on the events page.
      *
-     * @param session HttpSession object containing the user information.
+     * @param principal  Authenticated principal of the logged-in user.
+     * @param cursor     Optional cursor of the available events page to display.
+     * @param size       Optional available events page size.
+     * @param waitlisted Optional flag set when a previous join request ended on
+     *                   the waitlist.
+     * @param webRequest Request to answer with 304 if the events did not change.
      * @return ModelAndView object containing the events.html page and related model
-     *         data.
+     *         data, null if the browser's copy is up to date.
      */
     @GetMapping("/displayEvents")
-    public ModelAndView displayEvents(HttpSession session) {
-        User user = getUserFromSession(session);
+    public ModelAndView displayEvents(@AuthenticationPrincipal EventSpherePrincipal principal,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer size,
+                                      @RequestParam(required = false) String waitlisted,
+                                      ServletWebRequest webRequest) {
+        if (PageVersions.isNotModified(webRequest, contentVersionService.fetchCatalogVersion()))
+            return null;
 
         ModelAndView modelAndView = new ModelAndView("events.html");
-        modelAndView.addObject("user", user);
+        if (waitlisted != null)
+            modelAndView.addObject("infoMessage", "Event is full! You have been added to the waitlist.");
+        modelAndView.addObject("user", principal);
 
-        // Fetch organized, enrolled, and all events from the database
-        List<Object[]> organizedEvents = eventService.findEventsWithParticipantsCountByUserId(user.getUserId());
-        List<Event> enrolledEvents = eventService.findEventsByUserId(user.getUserId());
-        List<Event> events = eventService.fetchAllSortedDesc();
-
-        // Filter and prepare data for display
-        List<Event> organizedEventList = organizedEvents.stream()
-                .filter(event -> event.length > 0 && event[0] instanceof Event)
-                .map(event -> (Event) event[0])
-                .collect(Collectors.toList());
-        events.removeAll(enrolledEvents);
-        events.removeAll(organizedEventList);
+        // Fetch organized, enrolled and one page of joinable events in one query
+        EventDashboardDto dashboard = eventService.fetchEventDashboard(principal.getUserId(), cursor, size);
 
         // Add data to the model
-        modelAndView.addObject("organizedEvents", organizedEvents);
-        modelAndView.addObject("enrolledEvents", enrolledEvents);
-        modelAndView.addObject("events", events);
+        modelAndView.addObject("organizedEvents", dashboard.getOrganizedEvents());
+        modelAndView.addObject("enrolledEvents", dashboard.getEnrolledEvents());
+        modelAndView.addObject("waitlistedEvents", dashboard.getWaitlistedEvents());
+        modelAndView.addObject("waitlistPositions", dashboard.getWaitlistPositions());
+        modelAndView.addObject("events", dashboard.getAvailableEvents().getContent());
+        modelAndView.addObject("eventPage", dashboard.getAvailableEvents());
+        modelAndView.addObject("isFirstPage", cursor == null || cursor.isBlank());
         modelAndView.addObject("event", new Event());
         modelAndView.addObject("notificationDto", new NotificationDto());
 
@@ -75,26 +90,32 @@ public class UserController {
     /**
      * Displays the profile page for the logged-in user.
      *
-     * This function retrieves the user information from the session and fetches the
-     * ordered events for the user,
+     * This function takes the user information from the authenticated principal and fetches the
+     * upcoming events of the user in date order,
      * then prepares the data to be displayed on the profile page.
      *
-     * @param session HttpSession object containing the user information.
+     * @param principal  Authenticated principal of the logged-in user.
+     * @param webRequest Request to answer with 304 if neither the events, the
+     *                   notifications of the user nor the day changed.
      * @return ModelAndView object containing the profile.html page and related
-     *         model data.
+     *         model data, null if the browser's copy is up to date.
      */
     @GetMapping("/displayProfile")
-    public ModelAndView displayProfile(HttpSession session) {
-        User user = getUserFromSession(session);
+    public ModelAndView displayProfile(@AuthenticationPrincipal EventSpherePrincipal principal,
+                                       ServletWebRequest webRequest) {
+        // past events drop out of the list, so it changes with the date as well
+        String version = contentVersionService.fetchUserVersion(principal.getUserId()) + "." + LocalDate.now();
+        if (PageVersions.isNotModified(webRequest, version))
+            return null;
 
         ModelAndView modelAndView = new ModelAndView("profile.html");
 
-        modelAndView.addObject("user", user);
+        modelAndView.addObject("user", principal);
 
-        // Fetch ordered events from the database
-        List<Event> orderedEvents = eventService.findEventsByUserIdSortedByEventDate(user.getUserId());
+        // Fetch upcoming events from the database, past ones are filtered by the query
+        List<Event> orderedEvents = eventService.findUpcomingEventsByUserId(principal.getUserId());
         List<Object[]> eventIdsWithUnreadNotificationCounts = notificationService
-                .findEventIdsWithUnreadNotificationCounts(user.getUserId());
+                .findEventIdsWithUnreadNotificationCounts(principal.getUserId());
 
         modelAndView.addObject("orderedEvents", orderedEvents);
         modelAndView.addObject("eventIdsWithUnreadNotificationCounts", eventIdsWithUnreadNotificationCounts);
@@ -102,6 +123,38 @@ public class UserController {
         return modelAndView;
     }
 
+    /**
+     * Displays the calendar of the upcoming events of a month or week.
+     *
+     * This function counts and lists the events of the month per week, or of the
+     * week per day, and marks the events the user participates in.
+     *
+     * @param principal  Authenticated principal of the logged-in user.
+     * @param view       Optional MONTH or WEEK, MONTH if not given.
+     * @param date       Optional day of the month or week to display, today if
+     *                   not given.
+     * @param webRequest Request to answer with 304 if neither the events nor
+     *                   the day changed.
+     * @return ModelAndView object containing the calendar.html page and related
+     *         model data, null if the browser's copy is up to date.
+     */
+    @GetMapping("/displayCalendar")
+    public ModelAndView displayCalendar(@AuthenticationPrincipal EventSpherePrincipal principal,
+                                        @RequestParam(defaultValue = "MONTH") CalendarView view,
+                                        @RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                        ServletWebRequest webRequest) {
+        // the calendar hides past days, so it changes with the date as well
+        String version = contentVersionService.fetchUserVersion(principal.getUserId()) + "." + LocalDate.now();
+        if (PageVersions.isNotModified(webRequest, version))
+            return null;
+
+        ModelAndView modelAndView = new ModelAndView("calendar.html");
+        modelAndView.addObject("user", principal);
+        modelAndView.addObject("calendar", eventService.fetchCalendar(principal.getUserId(), view, date));
+        return modelAndView;
+    }
+
     /**
      * Creates a new notification and redirects to the events page.
      *
@@ -133,33 +186,38 @@ public class UserController {
      * redirects to the events page.
      *
      * @param event   Event object containing the updated event information.
-     * @param session HttpSession object containing the user information.
      * @param errors  Errors object containing validation errors, if any.
      * @return ModelAndView object, redirects to the displayEvents page.
      */
     @PostMapping("/updateEvent")
-    public ModelAndView updateEvent(@Valid @ModelAttribute("event") Event event,
-                                    HttpSession session, Errors errors) {
+    public ModelAndView updateEvent(@Valid @ModelAttribute("event") Event event, Errors errors) {
         if (errors.hasErrors())
             return new ModelAndView("redirect:/displayEvents");
 
-        User user = getUserFromSession(session);
-
-        event.setUser(user);
-
         eventService.updateEvent(event);
 
         return new ModelAndView("redirect:/displayEvents");
     }
 
+    /**
+     * Allows the authenticated user to join the specified event and redirects to
+     * the events page.
+     *
+     * This function handles the GET request for the /joinEvent endpoint.
+     * It reserves a seat of the event for the user or, if the event is already
+     * full, puts the user on the event's waitlist.
+     *
+     * @param eventId   ID of the event to join.
+     * @param principal Authenticated principal of the logged-in user.
+     * @return ModelAndView object, redirects to the displayEvents page.
+     */
     @GetMapping("/joinEvent")
-    public ModelAndView joinEvent(@RequestParam int eventId, HttpSession session) {
+    public ModelAndView joinEvent(@RequestParam int eventId, @AuthenticationPrincipal EventSpherePrincipal principal) {
 
-        User user = getUserFromSession(session);
         ModelAndView modelAndView = new ModelAndView("redirect:/displayEvents");
-        Event event = eventService.fetchEvent(eventId);
 
-        HandleUserEventInteraction(UserEventInteractionType.ADD, user, event);
+        if (eventService.joinEvent(principal.getUserId(), eventId) == EventJoinStatus.WAITLISTED)
+            modelAndView.setViewName("redirect:/displayEvents?waitlisted=true");
         return modelAndView;
     }
 
@@ -168,78 +226,71 @@ public class UserController {
      * the events page.
      *
      * This function handles the GET request for the /leaveEvent endpoint.
-     * It retrieves the authenticated user information from the session, fetches the
-     * specified event,
-     * and removes the user from the event's participants list.
+     * It takes the authenticated user information from the principal
+     * and removes the user from the event's participants or waitlist.
      *
-     * @param eventId ID of the event to leave.
-     * @param session HttpSession object containing user information.
+     * @param eventId   ID of the event to leave.
+     * @param principal Authenticated principal of the logged-in user.
      * @return ModelAndView object, redirects to the displayEvents page.
      */
     @GetMapping("/leaveEvent")
-    public ModelAndView leaveEvent(@RequestParam int eventId, HttpSession session) {
+    public ModelAndView leaveEvent(@RequestParam int eventId, @AuthenticationPrincipal EventSpherePrincipal principal) {
 
-        User user = getUserFromSession(session);
         ModelAndView modelAndView = new ModelAndView("redirect:/displayEvents");
-        Event event = eventService.fetchEvent(eventId);
 
-        HandleUserEventInteraction(UserEventInteractionType.REMOVE, user, event);
+        eventService.leaveEvent(principal.getUserId(), eventId);
         return modelAndView;
     }
 
-    @GetMapping("/getNotifications")
-    public ModelAndView fetchNotificationsByEventId(@RequestParam int eventId, Model model) {
-        ModelAndView modelAndView = new ModelAndView("redirect:/displayProfile");
-        List<Notification> notifications = notificationService.fetchNotificationsByEventId(eventId);
-        model.addAttribute("notifications", notifications);
-        return modelAndView;
+    /**
+     * Marks a notification of the authenticated user as read and redirects to
+     * the profile page.
+     *
+     * @param notificationId ID of the notification to mark as read.
+     * @param principal      Authenticated principal of the logged-in user.
+     * @return ModelAndView object, redirects to the displayProfile page.
+     */
+    @GetMapping("/markNotificationRead")
+    public ModelAndView markNotificationRead(@RequestParam int notificationId,
+                                             @AuthenticationPrincipal EventSpherePrincipal principal) {
+        notificationService.markNotificationRead(principal.getUserId(), notificationId);
+        return new ModelAndView("redirect:/displayProfile");
     }
 
-    enum UserEventInteractionType {
-        ADD,
-        REMOVE
+    /**
+     * Marks all notifications of the specified event as read for the
+     * authenticated user and redirects to the profile page.
+     *
+     * @param eventId   ID of the event whose notifications are read.
+     * @param principal Authenticated principal of the logged-in user.
+     * @return ModelAndView object, redirects to the displayProfile page.
+     */
+    @GetMapping("/markEventNotificationsRead")
+    public ModelAndView markEventNotificationsRead(@RequestParam int eventId,
+                                                   @AuthenticationPrincipal EventSpherePrincipal principal) {
+        notificationService.markEventNotificationsRead(principal.getUserId(), eventId);
+        return new ModelAndView("redirect:/displayProfile");
     }
 
     /**
-     * Handles the interaction between user and event (addition or removal).
-     *
-     * This function takes the interaction type (add or remove), user, and event as
-     * parameters,
-     * updates their associations accordingly, and persists the changes to the
-     * database.
+     * Marks all notifications of the authenticated user as read and redirects
+     * to the profile page.
      *
-     * @param interactionType Type of interaction (ADD or REMOVE).
-     * @param user            User object participating in the interaction.
-     * @param event           Event object participating in the interaction.
+     * @param principal Authenticated principal of the logged-in user.
+     * @return ModelAndView object, redirects to the displayProfile page.
      */
-    public void HandleUserEventInteraction(UserEventInteractionType interactionType, User user, Event event) {
-
-        // Get Lazy list values from each entity
-        event.setParticipants(eventService.fetchParticipantsByEventId(event.getEventId()));
-        user.setEvents(eventService.findEventsByUserId(user.getUserId()));
-
-        if (interactionType == UserEventInteractionType.ADD && event.getUser().getUserId() == user.getUserId())
-            return;
-
-        // update objects
-        switch (interactionType) {
-            case ADD:
-                user.getEvents().add(event);
-                event.getParticipants().add(user);
-                break;
-            case REMOVE:
-                user.getEvents().remove(event);
-                event.getParticipants().remove(user);
-                break;
-            default:
-                break;
-        }
-        // update database
-        eventService.updateEvent(event);
+    @GetMapping("/markAllNotificationsRead")
+    public ModelAndView markAllNotificationsRead(@AuthenticationPrincipal EventSpherePrincipal principal) {
+        notificationService.markAllNotificationsRead(principal.getUserId());
+        return new ModelAndView("redirect:/displayProfile");
     }
 
-    private User getUserFromSession(HttpSession session) {
-        return (User) session.getAttribute("loggedInUser");
+    @GetMapping("/getNotifications")
+    public ModelAndView fetchNotificationsByEventId(@RequestParam int eventId, Model model) {
+        ModelAndView modelAndView = new ModelAndView("redirect:/displayProfile");
+        List<Notification> notifications = notificationService.fetchNotificationsByEventId(eventId);
+        model.addAttribute("notifications", notifications);
+        return modelAndView;
     }
 
 }
\ No newline at end of file
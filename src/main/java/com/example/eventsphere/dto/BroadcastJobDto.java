@@ -0,0 +1,26 @@
+package com.example.eventsphere.dto;
+
+import com.example.eventsphere.constants.BroadcastStatus;
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Progress of a notification broadcast. Immutable, every progress step
+ * replaces the stored snapshot, so pollers always read a consistent one.
+ */
+@Value
+@With
+public class BroadcastJobDto {
+
+    String jobId;
+
+    int eventId;
+
+    BroadcastStatus status;
+
+    int totalRecipients;
+
+    int notifiedRecipients;
+
+    String errorMessage;
+}
@@ -0,0 +1,35 @@
+package com.example.eventsphere.dto;
+
+import lombok.Value;
+
+/**
+ * Message to send outside the application to one user or to every participant
+ * of an event. Published as an application event by the services and sent by
+ * the NotificationSender after commit.
+ */
+@Value
+public class CommunicationDto {
+
+    /**
+     * Event whose participants receive the message, 0 for a message to a single
+     * user
+     */
+    int eventId;
+
+    /**
+     * Recipient of a message to a single user, 0 for a message to participants
+     */
+    int userId;
+
+    String subject;
+
+    String body;
+
+    public static CommunicationDto toEventParticipants(int eventId, String subject, String body) {
+        return new CommunicationDto(eventId, 0, subject, body);
+    }
+
+    public static CommunicationDto toUser(int userId, String subject, String body) {
+        return new CommunicationDto(0, userId, subject, body);
+    }
+}
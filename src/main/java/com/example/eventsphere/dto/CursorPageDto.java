@@ -0,0 +1,24 @@
+package com.example.eventsphere.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> content;
+
+    /**
+     * Opaque cursor of the next page, null when this is the last page
+     */
+    private String nextCursor;
+
+    private int size;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.eventsphere.dto;
+
+import com.example.eventsphere.model.Event;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One week or day of the event calendar
+ */
+@Value
+public class EventCalendarBucketDto {
+
+    LocalDate from;
+
+    /**
+     * Exclusive end of the bucket
+     */
+    LocalDate to;
+
+    long eventCount;
+
+    /**
+     * Events of the bucket in date order, fewer than eventCount if the calendar
+     * is truncated
+     */
+    List<Event> events;
+
+    public LocalDate getLastDay() {
+        return to.minusDays(1);
+    }
+}
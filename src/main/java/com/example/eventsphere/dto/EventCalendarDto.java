@@ -0,0 +1,48 @@
+package com.example.eventsphere.dto;
+
+import com.example.eventsphere.constants.CalendarView;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Upcoming events of one calendar month or week, counted and listed per bucket
+ */
+@Value
+public class EventCalendarDto {
+
+    CalendarView view;
+
+    /**
+     * First day of the month or week, also when it is in the past
+     */
+    LocalDate from;
+
+    /**
+     * Exclusive end of the month or week
+     */
+    LocalDate to;
+
+    /**
+     * Start of the previous month or week, null if it is entirely in the past
+     */
+    LocalDate previous;
+
+    LocalDate next;
+
+    long eventCount;
+
+    /**
+     * True if only the first events of the range are listed
+     */
+    boolean truncated;
+
+    List<EventCalendarBucketDto> buckets;
+
+    /**
+     * Events of the range the user participates in
+     */
+    Set<Integer> enrolledEventIds;
+}
@@ -0,0 +1,24 @@
+package com.example.eventsphere.dto;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Line of the streamed event catalog
+ */
+@Value
+public class EventCatalogDto {
+
+    int eventId;
+
+    String eventName;
+
+    LocalDate eventDate;
+
+    String eventLocation;
+
+    Integer capacity;
+
+    int participantCount;
+}
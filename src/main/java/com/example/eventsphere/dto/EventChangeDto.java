@@ -0,0 +1,23 @@
+package com.example.eventsphere.dto;
+
+import lombok.Value;
+
+/**
+ * Published when an event is created, edited or deleted, for the listeners that
+ * keep copies of the catalog once the change is committed
+ */
+@Value
+public class EventChangeDto {
+
+    int eventId;
+
+    boolean deleted;
+
+    public static EventChangeDto saved(int eventId) {
+        return new EventChangeDto(eventId, false);
+    }
+
+    public static EventChangeDto deleted(int eventId) {
+        return new EventChangeDto(eventId, true);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.eventsphere.dto;
+
+import com.example.eventsphere.constants.EventSortType;
+import com.example.eventsphere.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Seek position of the keyset paginated event catalog. It is handed to clients
+ * as an opaque url safe string: {@code base64(sortType:eventId:sortValue)}.
+ */
+@Getter
+@AllArgsConstructor
+public class EventCursor {
+
+    private final EventSortType sortType;
+    private final int eventId;
+    private final String eventName;
+    private final LocalDate eventDate;
+
+    public static EventCursor byName(String eventName, int eventId) {
+        return new EventCursor(EventSortType.NAME, eventId, eventName, null);
+    }
+
+    public static EventCursor byDate(LocalDate eventDate, int eventId) {
+        return new EventCursor(EventSortType.DATE, eventId, null, eventDate);
+    }
+
+    public String encode() {
+        String value = sortType == EventSortType.NAME ? eventName : eventDate.toString();
+        String raw = sortType.name() + ":" + eventId + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor created by {@link #encode()}
+     *
+     * @param cursor
+     * @param sortType ordering the cursor must belong to
+     * @return EventCursor
+     * @throws InvalidCursorException if the cursor is malformed or belongs to an
+     *                                other ordering
+     */
+    public static EventCursor decode(String cursor, EventSortType sortType) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || !parts[0].equals(sortType.name()))
+                throw new InvalidCursorException(cursor);
+            int eventId = Integer.parseInt(parts[1]);
+            return sortType == EventSortType.NAME ? byName(parts[2], eventId)
+                    : byDate(LocalDate.parse(parts[2]), eventId);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
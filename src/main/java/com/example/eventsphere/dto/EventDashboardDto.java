@@ -0,0 +1,26 @@
+package com.example.eventsphere.dto;
+
+import com.example.eventsphere.repository.EventRepository.EventSummary;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class EventDashboardDto {
+
+    private List<EventSummary> organizedEvents;
+
+    private List<EventSummary> enrolledEvents;
+
+    private List<EventSummary> waitlistedEvents;
+
+    /**
+     * 1 based waitlist position by eventId of the waitlisted events
+     */
+    private Map<Integer, Long> waitlistPositions;
+
+    private CursorPageDto<EventSummary> availableEvents;
+}
@@ -2,6 +2,7 @@ package com.example.eventsphere.dto;
 
 import com.example.eventsphere.validations.FutureDate;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -19,4 +20,7 @@ public class EventDto {
 
     @NotBlank(message = "Event Location must not be blank")
     private String eventLocation;
+
+    @Positive(message = "Capacity must be a positive number")
+    private Integer capacity;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.eventsphere.dto;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Event found by the search, as stored in the search index
+ */
+@Value
+public class EventSearchHitDto {
+
+    int eventId;
+
+    String eventName;
+
+    LocalDate eventDate;
+
+    String eventLocation;
+}
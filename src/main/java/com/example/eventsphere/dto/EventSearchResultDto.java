@@ -0,0 +1,31 @@
+package com.example.eventsphere.dto;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of search hits with the facet counts of all matching events
+ */
+@Value
+public class EventSearchResultDto {
+
+    long totalHits;
+
+    List<EventSearchHitDto> hits;
+
+    /**
+     * Number of matching events per location, most frequent first
+     */
+    Map<String, Integer> locations;
+
+    /**
+     * Number of matching events per date range, see EventDateRange
+     */
+    Map<String, Integer> dates;
+
+    public static EventSearchResultDto empty() {
+        return new EventSearchResultDto(0, List.of(), Map.of(), Map.of());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.eventsphere.dto;
+
+import com.example.eventsphere.constants.EventSuggestionType;
+import lombok.Value;
+
+/**
+ * Event name or location completing what the user typed, with the
+ * participants of all events carrying it
+ */
+@Value
+public class EventSuggestionDto {
+
+    String text;
+
+    EventSuggestionType type;
+
+    int participantCount;
+}
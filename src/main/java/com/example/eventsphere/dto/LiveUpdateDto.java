@@ -0,0 +1,42 @@
+package com.example.eventsphere.dto;
+
+import com.example.eventsphere.constants.LiveUpdateType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Change of an event pushed to the users enrolled in it. Published as an
+ * application event by the services and sent to the stream after commit.
+ */
+@Value
+@With
+public class LiveUpdateDto {
+
+    LiveUpdateType type;
+
+    int eventId;
+
+    /**
+     * Recipient of a notification sent to a single user, 0 for notifications
+     * to every participant; the user who joined or left for participant changes
+     */
+    @JsonIgnore
+    int userId;
+
+    int notificationId;
+
+    String notificationContent;
+
+    int participantCount;
+
+    public static LiveUpdateDto notification(int eventId, int recipientId, int notificationId,
+                                             String notificationContent) {
+        return new LiveUpdateDto(LiveUpdateType.NOTIFICATION, eventId, recipientId, notificationId,
+                notificationContent, 0);
+    }
+
+    public static LiveUpdateDto participantChange(LiveUpdateType type, int eventId, int userId) {
+        return new LiveUpdateDto(type, eventId, userId, 0, null, 0);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.eventsphere.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Line of the streamed notifications received by a user
+ */
+@Value
+public class NotificationFeedDto {
+
+    int notificationId;
+
+    int eventId;
+
+    String notificationContent;
+
+    LocalDateTime createdAt;
+
+    boolean read;
+}
@@ -0,0 +1,18 @@
+package com.example.eventsphere.dto;
+
+import lombok.Value;
+
+/**
+ * Message to one user through a channel outside the application, e.g. email
+ */
+@Value
+public class OutboundMessageDto {
+
+    String recipientEmail;
+
+    String recipientName;
+
+    String subject;
+
+    String body;
+}
@@ -0,0 +1,22 @@
+package com.example.eventsphere.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Line of the streamed participant counts, for clients that already have the
+ * catalog and only refresh the counts
+ */
+@Value
+public class ParticipantCountDto {
+
+    int eventId;
+
+    int participantCount;
+
+    // key of the next page, the client already has it from the catalog
+    @JsonIgnore
+    LocalDate eventDate;
+}
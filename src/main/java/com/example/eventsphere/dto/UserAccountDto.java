@@ -0,0 +1,19 @@
+package com.example.eventsphere.dto;
+
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the account fields read on login, safe to share from
+ * the usersByEmail cache
+ */
+@Value
+public class UserAccountDto {
+
+    int userId;
+
+    String username;
+
+    String email;
+
+    String pwd;
+}
@@ -8,6 +8,7 @@ public class EventMapper {
         eventDto.setEventName(event.getEventName());
         eventDto.setEventLocation(event.getEventLocation());
         eventDto.setEventDate(event.getEventDate());
+        eventDto.setCapacity(event.getCapacity());
         return eventDto;
     }
 
@@ -15,6 +16,7 @@ public class EventMapper {
         event.setEventName(eventDto.getEventName());
         event.setEventLocation(eventDto.getEventLocation());
         event.setEventDate(eventDto.getEventDate());
+        event.setCapacity(eventDto.getCapacity());
         return event;
     }
 }
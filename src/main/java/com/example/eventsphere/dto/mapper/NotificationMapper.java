@@ -7,7 +7,7 @@ public class NotificationMapper {
     public static NotificationDto mapTonotificationDto(Notification notification,
                                                        NotificationDto notificationDto) {
         notificationDto.setNotificationContent(notification.getNotificationContent());
-        notificationDto.setUserId(notification.getUser().getUserId());
+        notificationDto.setUserId(notification.getAuthor() == null ? 0 : notification.getAuthor().getUserId());
         notificationDto.setEventId(notification.getEvent().getEventId());
         return notificationDto;
     }
@@ -1,5 +1,6 @@
 package com.example.eventsphere.dto.mapper;
 
+import com.example.eventsphere.dto.UserAccountDto;
 import com.example.eventsphere.dto.UserDto;
 import com.example.eventsphere.model.User;
 
@@ -11,6 +12,13 @@ public class UserMapper {
         return userDto;
     }
 
+    public static UserDto mapToUserDto(UserAccountDto account, UserDto userDto) {
+        userDto.setUsername(account.getUsername());
+        userDto.setPwd(account.getPwd());
+        userDto.setEmail(account.getEmail());
+        return userDto;
+    }
+
     public static User mapToUser(UserDto userDto, User user) {
         user.setUsername(userDto.getUsername());
         user.setPwd(userDto.getPwd());
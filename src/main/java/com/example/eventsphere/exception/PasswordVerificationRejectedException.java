@@ -0,0 +1,13 @@
+package com.example.eventsphere.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when the password verification pool is saturated, answered with 503
+ * by AuthenticationOverloadHandler instead of a login failure.
+ */
+public class PasswordVerificationRejectedException extends AuthenticationServiceException {
+    public PasswordVerificationRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
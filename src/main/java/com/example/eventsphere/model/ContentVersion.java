@@ -0,0 +1,28 @@
+package com.example.eventsphere.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Version stamp of a group of rendered pages, shared by every node. A scope
+ * without a row has never changed and is at version 0. Maintained by
+ * ContentVersionServiceImpl.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "content_version")
+public class ContentVersion {
+
+    @Id
+    @Column(length = 32)
+    private String scope;
+
+    private long version;
+}
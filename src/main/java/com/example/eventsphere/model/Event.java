@@ -1,24 +1,32 @@
 package com.example.eventsphere.model;
 
 import com.example.eventsphere.validations.FutureDate;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.springframework.data.rest.core.annotation.RestResource;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Set;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "event")
+@Table(name = "event", indexes = {
+        @Index(name = "idx_event_name_id", columnList = "eventName, eventId"),
+        @Index(name = "idx_event_date_id", columnList = "eventDate, eventId") })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event")
 public class Event extends BaseEntity{
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
@@ -35,15 +43,50 @@ public class Event extends BaseEntity{
     @NotBlank(message = "Event Location must not be blank")
     private String eventLocation;
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = { CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH,
+    /**
+     * Maximum number of participants, null for unlimited
+     */
+    @Positive(message = "Capacity must be a positive number")
+    private Integer capacity;
+
+    /**
+     * Denormalized size of participants. Only written through the atomic counter
+     * queries of EventRepository, never by entity updates.
+     */
+    @Column(insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int participantCount;
+
+    /**
+     * Last waitlist ticket handed out, waitlist entries are served in ticket
+     * order
+     */
+    @Column(insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long waitlistTicket;
+
+    /**
+     * Organizer of the event. Lazy, the pages only render its id, which the
+     * proxy holds without a query.
+     */
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY, cascade = { CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH,
             CascadeType.DETACH }, targetEntity = User.class)
     @JoinColumn(name = "user_id", referencedColumnName = "userId")
     private User user;
 
-    @ManyToMany(fetch = FetchType.LAZY, cascade = { CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH,
-            CascadeType.DETACH }, targetEntity = User.class)
+    /**
+     * Read-only view of the event_user join table. Membership is changed with
+     * single row writes through EventService.joinEvent/leaveEvent, never by
+     * mutating this collection. Not rendered by the REST API, the paged
+     * /api/events/{eventId}/participants resource lists it. The unique key
+     * serves the lookups by event, idx_event_user_user_event those by user.
+     */
+    @JsonIgnore
+    @RestResource(exported = false)
+    @ManyToMany(fetch = FetchType.LAZY, targetEntity = User.class)
     @JoinTable(name = "event_user", joinColumns = {
             @JoinColumn(name = "event_id", referencedColumnName = "eventId") }, inverseJoinColumns = {
-            @JoinColumn(name = "user_id", referencedColumnName = "userId") })
-    List<User> participants;
+            @JoinColumn(name = "user_id", referencedColumnName = "userId") }, uniqueConstraints = {
+            @UniqueConstraint(name = "uk_event_user", columnNames = { "event_id", "user_id" }) }, indexes = {
+            @Index(name = "idx_event_user_user_event", columnList = "user_id, event_id") })
+    Set<User> participants;
 }
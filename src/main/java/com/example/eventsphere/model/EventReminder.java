@@ -0,0 +1,59 @@
+package com.example.eventsphere.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Due-queue entry of one reminder of an event, e.g. the one a day before it.
+ * The (sent_at, due_at) index makes finding the due reminders one range scan
+ * of the unsent ones, however many events there are. A node claims due rows
+ * by writing its lease, another node takes them over only once the lease
+ * expired. Sent rows stay, so the unique key keeps a reminder from being
+ * scheduled twice.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "event_reminder", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_event_reminder_offset", columnNames = { "event_id", "offset_minutes" }) },
+        indexes = { @Index(name = "idx_event_reminder_due", columnList = "sent_at, due_at") })
+public class EventReminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
+    @GenericGenerator(name = "native", strategy = "native")
+    private int reminderId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_id", referencedColumnName = "eventId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    /**
+     * Minutes before the start of the event
+     */
+    @Column(name = "offset_minutes", nullable = false)
+    private int offsetMinutes;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    /**
+     * Claim of the node sending the reminder, random per claimed batch
+     */
+    @Column(length = 36)
+    private String leaseOwner;
+
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -1,37 +1,50 @@
 package com.example.eventsphere.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
+/**
+ * A message sent about an event. It is stored once however many users receive
+ * it, delivery and read state of every recipient live in NotificationReceipt.
+ */
 @Entity
+@Immutable
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Notification extends BaseEntity {
+    /**
+     * Pooled sequence instead of IDENTITY, so notifications can be inserted in
+     * JDBC batches. MySQL has no sequences, Hibernate keeps it in the
+     * notification_seq table.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
-    @GenericGenerator(name = "native", strategy = "native")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
     private int notificationId;
 
     private String notificationContent;
 
-    private boolean isRead;
+    /**
+     * user who wrote the notification, null for notifications sent by the system
+     */
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "author_id", referencedColumnName = "userId")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private User author;
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = { CascadeType.MERGE, CascadeType.PERSIST,
-            CascadeType.REFRESH,
-            CascadeType.DETACH }, targetEntity = User.class)
-    @JoinColumn(name = "user_id", referencedColumnName = "userId")
-    private User user;
-
-    @ManyToOne(fetch = FetchType.EAGER, cascade = { CascadeType.MERGE, CascadeType.PERSIST,
-            CascadeType.REFRESH,
-            CascadeType.DETACH }, targetEntity = Event.class)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", referencedColumnName = "eventId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Event event;
 
     @Override
@@ -39,4 +52,4 @@ public class Notification extends BaseEntity {
         return "Notification [notificationId=" + notificationId + ", notificationContent=" + notificationContent
                 + "]";
     }
-}
\ No newline at end of file
+}
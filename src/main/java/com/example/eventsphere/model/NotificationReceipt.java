@@ -0,0 +1,44 @@
+package com.example.eventsphere.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Delivery of a notification to one user and whether the user has read it.
+ * Kept to a few integer columns without the auditing columns of BaseEntity, as
+ * there is one row per recipient. The event id is copied from the
+ * notification so unread counts per event need no join, the index on
+ * (user_id, event_id, is_read) covers marking an event read and recounting.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "notification_receipt", indexes = @Index(name = "idx_notification_receipt_user_event_read",
+        columnList = "user_id, event_id, is_read"))
+public class NotificationReceipt {
+
+    @EmbeddedId
+    private NotificationReceiptId id;
+
+    @MapsId("userId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", referencedColumnName = "userId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @MapsId("notificationId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "notification_id", referencedColumnName = "notificationId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Notification notification;
+
+    @Column(name = "event_id")
+    private int eventId;
+
+    private boolean isRead;
+}
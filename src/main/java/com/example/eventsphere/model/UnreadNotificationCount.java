@@ -0,0 +1,38 @@
+package com.example.eventsphere.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Number of unread notification receipts of one user for one event, so badge
+ * counts are a primary key lookup. Maintained together with the receipts by
+ * the set-based statements of UnreadNotificationCountRepository.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "notification_unread_count")
+public class UnreadNotificationCount {
+
+    @EmbeddedId
+    private UnreadNotificationCountId id;
+
+    @MapsId("userId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", referencedColumnName = "userId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @MapsId("eventId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_id", referencedColumnName = "eventId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    private int unreadCount;
+}
@@ -8,6 +8,8 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.util.HashSet;
@@ -24,6 +26,7 @@ import java.util.Set;
         @FieldsValueMatch(field = "pwd", fieldMatch = "confirmPwd", message = "Passwords do not match!"),
         @FieldsValueMatch(field = "email", fieldMatch = "confirmEmail", message = "Email do not match!")
 })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User extends BaseEntity {
 
     @Id
@@ -48,6 +51,7 @@ public class User extends BaseEntity {
     @NotBlank(message = "Password must not be blank")
     @Size(min = 5, message = "Password must be atleast 5 characters")
     @PasswordValidator
+    @JsonIgnore
     private String pwd;
 
     @NotBlank(message = "Confirm Password must not be blank")
@@ -56,12 +60,15 @@ public class User extends BaseEntity {
     @JsonIgnore
     private String confirmPwd;
 
+    @ToString.Exclude
     @ManyToMany(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST, targetEntity = Role.class)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @JoinTable(name = "user_role", joinColumns = {
             @JoinColumn(name = "user_id", referencedColumnName = "userId") }, inverseJoinColumns = {
             @JoinColumn(name = "role_id", referencedColumnName = "roleId") })
     private Set<Role> roles = new HashSet<>();
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     List<Event> events;
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.example.eventsphere.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A user waiting for a seat of a full event. Entries are served FIFO by their
+ * per-event ticket, the (event_id, ticket) index makes finding the head of the
+ * queue a single index seek.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "event_waitlist", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_event_waitlist_user", columnNames = { "event_id", "user_id" }) }, indexes = {
+        @Index(name = "idx_event_waitlist_ticket", columnList = "event_id, ticket") })
+public class WaitlistEntry extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
+    @GenericGenerator(name = "native", strategy = "native")
+    private int waitlistId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_id", referencedColumnName = "eventId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", referencedColumnName = "userId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    private long ticket;
+}
@@ -0,0 +1,33 @@
+package com.example.eventsphere.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Node of the per-event Fenwick tree over waitlist tickets: the number of users
+ * still waiting with a ticket in [node, node + lowest set bit of node). Lets
+ * the position of a ticket be summed from O(log n) nodes instead of counting
+ * the entries ahead of it. Maintained by WaitlistRanks.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "event_waitlist_rank")
+public class WaitlistRankNode {
+
+    @EmbeddedId
+    private WaitlistRankNodeId id;
+
+    @MapsId("eventId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_id", referencedColumnName = "eventId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    private int waiting;
+}
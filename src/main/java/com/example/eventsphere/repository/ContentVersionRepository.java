@@ -0,0 +1,31 @@
+package com.example.eventsphere.repository;
+
+import com.example.eventsphere.model.ContentVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ContentVersionRepository extends JpaRepository<ContentVersion, String> {
+
+    /**
+     * Bump the version of the scope, creating its row on the first change. Holds
+     * the row lock until the transaction ends, so pending changes are flushed
+     * first and their row locks taken before this one.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "content_version"))
+    @Query(value = "INSERT INTO content_version (scope, version) VALUES (:scope, 1) "
+            + "ON DUPLICATE KEY UPDATE version = version + 1", nativeQuery = true)
+    int bump(@Param("scope") String scope);
+
+    List<ContentVersion> findByScopeIn(Collection<String> scopes);
+}
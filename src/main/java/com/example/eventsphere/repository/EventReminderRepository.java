@@ -0,0 +1,98 @@
+package com.example.eventsphere.repository;
+
+import com.example.eventsphere.model.EventReminder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventReminderRepository extends JpaRepository<EventReminder, Integer> {
+
+    /**
+     * Schedule the reminder for every event from the given day on whose
+     * reminder is still ahead, in one set-based statement. Reminders already
+     * scheduled or sent are skipped.
+     *
+     * @param startMinutes minutes after midnight the events start
+     * @return number of scheduled reminders
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_reminder"))
+    @Query(value = "INSERT IGNORE INTO event_reminder (event_id, offset_minutes, due_at) "
+            + "SELECT e.event_id, :offsetMinutes, TIMESTAMPADD(MINUTE, :startMinutes - :offsetMinutes, e.event_date) "
+            + "FROM event e WHERE e.event_date >= :fromDate "
+            + "AND TIMESTAMPADD(MINUTE, :startMinutes - :offsetMinutes, e.event_date) > :now", nativeQuery = true)
+    int insertForUpcomingEvents(@Param("offsetMinutes") int offsetMinutes, @Param("startMinutes") int startMinutes,
+                                @Param("fromDate") LocalDate fromDate, @Param("now") LocalDateTime now);
+
+    /**
+     * @return 1 if the reminder was scheduled, 0 if it already exists
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_reminder"))
+    @Query(value = "INSERT IGNORE INTO event_reminder (event_id, offset_minutes, due_at) "
+            + "VALUES (:eventId, :offsetMinutes, :dueAt)", nativeQuery = true)
+    int insertReminder(@Param("eventId") int eventId, @Param("offsetMinutes") int offsetMinutes,
+                       @Param("dueAt") LocalDateTime dueAt);
+
+    /**
+     * Move the reminder to a new due time and arm it again, also when it was
+     * sent for the previous date. A node still sending it loses its lease.
+     */
+    @Modifying
+    @Query("UPDATE EventReminder r SET r.dueAt = :dueAt, r.sentAt = null, r.leaseOwner = null, r.leaseUntil = null "
+            + "WHERE r.event.eventId = :eventId AND r.offsetMinutes = :offsetMinutes AND r.dueAt <> :dueAt")
+    int reschedule(@Param("eventId") int eventId, @Param("offsetMinutes") int offsetMinutes,
+                   @Param("dueAt") LocalDateTime dueAt);
+
+    /**
+     * Drop the unsent reminder whose time has passed with the new date of its
+     * event. A reminder still due at the given time is kept, it is only late.
+     */
+    @Modifying
+    @Query("DELETE FROM EventReminder r WHERE r.event.eventId = :eventId AND r.offsetMinutes = :offsetMinutes "
+            + "AND r.sentAt IS NULL AND r.dueAt <> :dueAt")
+    int deleteUnsent(@Param("eventId") int eventId, @Param("offsetMinutes") int offsetMinutes,
+                     @Param("dueAt") LocalDateTime dueAt);
+
+    /**
+     * Lock due reminders nobody holds a valid lease on, oldest first. Rows
+     * locked by the claim of another node are skipped rather than waited for.
+     * Must run in the transaction that writes the lease.
+     */
+    @Query(value = "SELECT r.reminder_id FROM event_reminder r WHERE r.sent_at IS NULL AND r.due_at <= :now "
+            + "AND (r.lease_until IS NULL OR r.lease_until < :now) ORDER BY r.due_at LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> lockDueReminderIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE EventReminder r SET r.leaseOwner = :leaseOwner, r.leaseUntil = :leaseUntil "
+            + "WHERE r.reminderId IN :reminderIds")
+    int lease(@Param("reminderIds") Collection<Integer> reminderIds, @Param("leaseOwner") String leaseOwner,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT r FROM EventReminder r JOIN FETCH r.event WHERE r.leaseOwner = :leaseOwner ORDER BY r.dueAt")
+    List<EventReminder> findByLeaseOwner(@Param("leaseOwner") String leaseOwner);
+
+    /**
+     * Mark the reminder sent if the lease is still ours
+     *
+     * @return 1 if the reminder is ours to send, 0 if its lease was lost or it
+     *         was rescheduled meanwhile
+     */
+    @Modifying
+    @Query("UPDATE EventReminder r SET r.sentAt = :sentAt "
+            + "WHERE r.reminderId = :reminderId AND r.leaseOwner = :leaseOwner AND r.sentAt IS NULL")
+    int markSent(@Param("reminderId") int reminderId, @Param("leaseOwner") String leaseOwner,
+                 @Param("sentAt") LocalDateTime sentAt);
+}
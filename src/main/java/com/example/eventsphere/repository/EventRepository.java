@@ -1,21 +1,100 @@
 package com.example.eventsphere.repository;
 
+import com.example.eventsphere.constants.DashboardSection;
+import com.example.eventsphere.constants.EventConstants;
+import com.example.eventsphere.dto.EventCatalogDto;
+import com.example.eventsphere.dto.ParticipantCountDto;
 import com.example.eventsphere.model.Event;
 import com.example.eventsphere.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.data.rest.core.config.Projection;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Exported by Spring Data REST under /api/events as a read-only, paged
+ * resource. Only the methods annotated with @RestResource are exported.
+ */
 @Repository
+@RepositoryRestResource(path = "events", excerptProjection = EventRepository.EventExcerpt.class)
 public interface EventRepository extends JpaRepository<Event, Integer> {
+
+    @Override
+    @RestResource
+    Page<Event> findAll(Pageable pageable);
+
+    @Override
+    @RestResource
+    Optional<Event> findById(Integer eventId);
+
+    @RestResource(path = "upcoming", rel = "upcoming")
+    Page<Event> findByEventDateGreaterThanEqual(
+            @Param("eventDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate eventDate, Pageable pageable);
+
+    @Query(value = "SELECT u.userId AS userId, u.username AS username FROM Event e JOIN e.participants u "
+            + "WHERE e.eventId = :eventId",
+            countQuery = "SELECT COUNT(u) FROM Event e JOIN e.participants u WHERE e.eventId = :eventId")
+    Page<ParticipantSummary> findParticipantSummariesByEventId(@Param("eventId") int eventId, Pageable pageable);
+
+    /**
+     * Read-only row of the user events page, only the columns the page renders
+     */
+    interface EventSummary {
+        DashboardSection getSection();
+
+        int getEventId();
+
+        String getEventName();
+
+        LocalDate getEventDate();
+
+        String getEventLocation();
+
+        Integer getOrganizerId();
+
+        /**
+         * @return participant count, only selected for the ORGANIZED section
+         */
+        Long getParticipantsCount();
+
+        /**
+         * @return waitlist ticket of the user, only selected for the WAITLISTED
+         *         section, positions are ranked by WaitlistRanks
+         */
+        Long getWaitlistTicket();
+    }
+
     Optional<Event> findByEventNameAndEventDateAndEventLocation(String eventName, LocalDate eventDate,
                                                                 String eventLocation);
 
+    /**
+     * Page of the names and emails of the participants of the event in user id
+     * order after the given user, one range scan of uk_event_user. Pass user id
+     * 0 for the first page.
+     */
+    @Query("SELECT u.userId AS userId, u.username AS username, u.email AS email "
+            + "FROM Event e JOIN e.participants u WHERE e.eventId = :eventId AND u.userId > :userId "
+            + "ORDER BY u.userId")
+    List<ParticipantContact> findParticipantContactPageAfter(@Param("eventId") int eventId,
+                                                             @Param("userId") int userId, Limit limit);
+
     @Query("SELECT e.participants FROM   Event e WHERE e.eventId = :eventId")
     List<User> findParticipantsByEventId(@Param("eventId") int eventId);
 
@@ -25,13 +104,272 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
     @Query("SELECT e FROM Event e JOIN e.user u WHERE u.userId = :userId")
     List<Event> findEventsByOrganizerUserId(@Param("userId") int userId);
 
-    @Query("SELECT e, COUNT(p.id) AS participants_count FROM Event e LEFT JOIN e.participants p JOIN e.user u WHERE u.userId = :userId GROUP BY e")
-    List<Object[]> findEventsWithParticipantsCountByUserId(@Param("userId") int userId);
+    /**
+     * Reads through the event region instead of the query cache, which would
+     * hand out a second instance of an event already loaded in the session
+     */
+    default Event findById(int eventId) {
+        return findById(Integer.valueOf(eventId)).orElse(null);
+    }
+
+    /**
+     * Events the user participates in dated from the given day on, in date
+     * order. Reads the user's rows of the idx_event_user_user_event index.
+     */
+    @Query("SELECT e FROM Event e JOIN e.participants p WHERE p.userId = :userId AND e.eventDate >= :from "
+            + "ORDER BY e.eventDate, e.eventId")
+    List<Event> findUpcomingEventsByUserId(@Param("userId") int userId, @Param("from") LocalDate from);
+
+    @Query("SELECT e FROM Event e JOIN e.participants p WHERE p.userId = :userId "
+            + "AND e.eventDate >= :from AND e.eventDate < :to ORDER BY e.eventDate, e.eventId")
+    List<Event> findEventsByUserIdAndEventDateRange(@Param("userId") int userId, @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to);
+
+    /**
+     * Ids of the events the user participates in within [from, to), starting
+     * from the user's rows of the idx_event_user_user_event index
+     */
+    @Query(value = "SELECT eu.event_id FROM event_user eu JOIN event e ON e.event_id = eu.event_id "
+            + "WHERE eu.user_id = :userId AND e.event_date >= :from AND e.event_date < :to", nativeQuery = true)
+    List<Integer> findEventIdsByUserIdAndEventDateRange(@Param("userId") int userId, @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
+
+    /**
+     * Events dated in [from, to) in date order, one range scan of the
+     * idx_event_date_id index
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT e FROM Event e WHERE e.eventDate >= :from AND e.eventDate < :to ORDER BY e.eventDate, e.eventId")
+    List<Event> findByEventDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+
+    /**
+     * Number of events per day in [from, to), counted on the idx_event_date_id
+     * index alone
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT e.eventDate AS eventDate, COUNT(e) AS eventCount FROM Event e "
+            + "WHERE e.eventDate >= :from AND e.eventDate < :to GROUP BY e.eventDate ORDER BY e.eventDate")
+    List<EventDateCount> countByEventDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT e FROM Event e ORDER BY e.eventName DESC, e.eventId DESC")
+    List<Event> findFirstPageByEventName(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT e FROM Event e WHERE e.eventName < :eventName OR (e.eventName = :eventName AND e.eventId < :eventId) "
+            + "ORDER BY e.eventName DESC, e.eventId DESC")
+    List<Event> findPageAfterEventName(@Param("eventName") String eventName, @Param("eventId") int eventId,
+                                       Limit limit);
+
+    @Query(value = "SELECT e.* FROM event e WHERE (e.user_id IS NULL OR e.user_id <> :userId) "
+            + "AND NOT EXISTS (SELECT 1 FROM event_user eu WHERE eu.event_id = e.event_id AND eu.user_id = :userId) "
+            + "AND NOT EXISTS (SELECT 1 FROM event_waitlist w WHERE w.event_id = e.event_id AND w.user_id = :userId) "
+            + "ORDER BY e.event_name DESC, e.event_id DESC LIMIT :limit", nativeQuery = true)
+    List<Event> findFirstAvailablePageByEventName(@Param("userId") int userId, @Param("limit") int limit);
+
+    @Query(value = "SELECT e.* FROM event e WHERE (e.user_id IS NULL OR e.user_id <> :userId) "
+            + "AND NOT EXISTS (SELECT 1 FROM event_user eu WHERE eu.event_id = e.event_id AND eu.user_id = :userId) "
+            + "AND NOT EXISTS (SELECT 1 FROM event_waitlist w WHERE w.event_id = e.event_id AND w.user_id = :userId) "
+            + "AND (e.event_name < :eventName OR (e.event_name = :eventName AND e.event_id < :eventId)) "
+            + "ORDER BY e.event_name DESC, e.event_id DESC LIMIT :limit", nativeQuery = true)
+    List<Event> findAvailablePageAfterEventName(@Param("userId") int userId, @Param("eventName") String eventName,
+                                                @Param("eventId") int eventId, @Param("limit") int limit);
+
+    /**
+     * Fetch all sections of the user events page in one round-trip: events
+     * organized by the user with their participant count, events the user is
+     * enrolled in, events the user is waitlisted for with the user's ticket and
+     * one keyset page of the events the user can still join. Pass a null
+     * eventName for the first page of joinable events. The result is kept in its
+     * own query region until one of the three tables is written, or the seat
+     * counters change and the region is evicted.
+     */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EventConstants.DASHBOARD_QUERY_REGION),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_user"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_waitlist") })
+    @Query(value = "(SELECT 'ORGANIZED' AS section, e.event_id AS eventId, e.event_name AS eventName, "
+            + "e.event_date AS eventDate, e.event_location AS eventLocation, e.user_id AS organizerId, "
+            + "e.participant_count AS participantsCount, NULL AS waitlistTicket "
+            + "FROM event e WHERE e.user_id = :userId) "
+            + "UNION ALL "
+            + "(SELECT 'ENROLLED', e.event_id, e.event_name, e.event_date, e.event_location, e.user_id, NULL, NULL "
+            + "FROM event e JOIN event_user eu ON eu.event_id = e.event_id WHERE eu.user_id = :userId) "
+            + "UNION ALL "
+            + "(SELECT 'WAITLISTED', e.event_id, e.event_name, e.event_date, e.event_location, e.user_id, NULL, "
+            + "w.ticket FROM event e JOIN event_waitlist w ON w.event_id = e.event_id WHERE w.user_id = :userId) "
+            + "UNION ALL "
+            + "(SELECT 'AVAILABLE', e.event_id, e.event_name, e.event_date, e.event_location, e.user_id, NULL, NULL "
+            + "FROM event e WHERE (e.user_id IS NULL OR e.user_id <> :userId) "
+            + "AND NOT EXISTS (SELECT 1 FROM event_user eu WHERE eu.event_id = e.event_id AND eu.user_id = :userId) "
+            + "AND NOT EXISTS (SELECT 1 FROM event_waitlist w WHERE w.event_id = e.event_id AND w.user_id = :userId) "
+            + "AND (:eventName IS NULL OR e.event_name < :eventName "
+            + "OR (e.event_name = :eventName AND e.event_id < :eventId)) "
+            + "ORDER BY e.event_name DESC, e.event_id DESC LIMIT :limit) "
+            + "ORDER BY section, eventName DESC, eventId DESC", nativeQuery = true)
+    List<EventSummary> findEventDashboardByUserId(@Param("userId") int userId, @Param("eventName") String eventName,
+                                                  @Param("eventId") int eventId, @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT e FROM Event e WHERE e.eventDate IS NOT NULL ORDER BY e.eventDate, e.eventId")
+    List<Event> findFirstPageByEventDate(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT e FROM Event e WHERE e.eventDate > :eventDate OR (e.eventDate = :eventDate AND e.eventId > :eventId) "
+            + "ORDER BY e.eventDate, e.eventId")
+    List<Event> findPageAfterEventDate(@Param("eventDate") LocalDate eventDate, @Param("eventId") int eventId,
+                                       Limit limit);
+
+    @Query(value = "SELECT event_id FROM event_user WHERE user_id = :userId", nativeQuery = true)
+    List<Integer> findEventIdsByUserId(@Param("userId") int userId);
+
+    @Query("SELECT e.user.userId FROM Event e WHERE e.eventId = :eventId")
+    Integer findOrganizerIdByEventId(@Param("eventId") int eventId);
+
+    /**
+     * Page of the catalog in date order after the given event, one range scan of
+     * the idx_event_date_id index. Pass the first date and event id 0 for the
+     * first page.
+     */
+    @Query("SELECT new com.example.eventsphere.dto.EventCatalogDto(e.eventId, e.eventName, e.eventDate, "
+            + "e.eventLocation, e.capacity, e.participantCount) "
+            + "FROM Event e WHERE e.eventDate > :eventDate OR (e.eventDate = :eventDate AND e.eventId > :eventId) "
+            + "ORDER BY e.eventDate, e.eventId")
+    List<EventCatalogDto> findCatalogPageAfter(@Param("eventDate") LocalDate eventDate, @Param("eventId") int eventId,
+                                               Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.eventsphere.dto.EventCatalogDto(e.eventId, e.eventName, e.eventDate, "
+            + "e.eventLocation, e.capacity, e.participantCount) FROM Event e")
+    Stream<EventCatalogDto> streamCatalog();
+
+    /**
+     * Page of the participant counts in date order after the given event, paged
+     * like {@link #findCatalogPageAfter}
+     */
+    @Query("SELECT new com.example.eventsphere.dto.ParticipantCountDto(e.eventId, e.participantCount, e.eventDate) "
+            + "FROM Event e WHERE e.eventDate > :eventDate OR (e.eventDate = :eventDate AND e.eventId > :eventId) "
+            + "ORDER BY e.eventDate, e.eventId")
+    List<ParticipantCountDto> findParticipantCountPageAfter(@Param("eventDate") LocalDate eventDate,
+                                                            @Param("eventId") int eventId, Limit limit);
+
+    @Query(value = "SELECT COUNT(*) > 0 FROM event_user WHERE event_id = :eventId AND user_id = :userId",
+            nativeQuery = true)
+    boolean isParticipant(@Param("eventId") int eventId, @Param("userId") int userId);
+
+    /**
+     * Idempotently add a participant, relies on the uk_event_user unique
+     * constraint
+     *
+     * @return 1 if the user was added, 0 if the user already participates
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_user"))
+    @Query(value = "INSERT IGNORE INTO event_user (event_id, user_id) VALUES (:eventId, :userId)",
+            nativeQuery = true)
+    int insertParticipant(@Param("eventId") int eventId, @Param("userId") int userId);
+
+    /**
+     * @return 1 if the user was removed, 0 if the user did not participate
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_user"))
+    @Query(value = "DELETE FROM event_user WHERE event_id = :eventId AND user_id = :userId", nativeQuery = true)
+    int deleteParticipant(@Param("eventId") int eventId, @Param("userId") int userId);
+
+    /**
+     * Draw the next waitlist ticket of the event. The update keeps the event row
+     * locked, so the ticket read afterwards in the same transaction is ours.
+     * <p>
+     * The counter updates write the event table but are scoped to the table
+     * whose rows they count, so a join does not evict the whole event region and
+     * every cached catalog query. Callers evict the one cached event and the
+     * dashboard query region, the only cached query reading the counters.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_waitlist"))
+    @Query(value = "UPDATE event SET waitlist_ticket = waitlist_ticket + 1 WHERE event_id = :eventId",
+            nativeQuery = true)
+    int incrementWaitlistTicket(@Param("eventId") int eventId);
+
+    @Query("SELECT e.waitlistTicket FROM Event e WHERE e.eventId = :eventId")
+    Long findWaitlistTicketByEventId(@Param("eventId") int eventId);
+
+    /**
+     * Atomically take one seat of the event. The conditional update holds the row
+     * lock of this event only, so concurrent joins can never overbook it.
+     *
+     * @return 1 if a seat was reserved, 0 if the event is full
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_user"))
+    @Query(value = "UPDATE event SET participant_count = participant_count + 1 "
+            + "WHERE event_id = :eventId AND (capacity IS NULL OR participant_count < capacity)", nativeQuery = true)
+    int reserveSeat(@Param("eventId") int eventId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_user"))
+    @Query(value = "UPDATE event SET participant_count = participant_count - 1 "
+            + "WHERE event_id = :eventId AND participant_count > 0", nativeQuery = true)
+    int decrementParticipantCount(@Param("eventId") int eventId);
+
+    /**
+     * Recount participants of every event whose counter drifted from the
+     * event_user join table
+     *
+     * @return number of repaired events
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event"))
+    @Query(value = "UPDATE event e SET e.participant_count = "
+            + "(SELECT COUNT(*) FROM event_user eu WHERE eu.event_id = e.event_id) "
+            + "WHERE e.participant_count <> (SELECT COUNT(*) FROM event_user eu WHERE eu.event_id = e.event_id)",
+            nativeQuery = true)
+    int reconcileParticipantCounts();
+
+    /**
+     * Event as rendered in the collection resources of the REST API
+     */
+    @Projection(name = "excerpt", types = Event.class)
+    interface EventExcerpt {
+        int getEventId();
+
+        String getEventName();
+
+        LocalDate getEventDate();
+
+        String getEventLocation();
+
+        Integer getCapacity();
+
+        int getParticipantCount();
+
+        @Value("#{target.user?.userId}")
+        Integer getOrganizerId();
+    }
+
+    interface EventDateCount {
+        LocalDate getEventDate();
+
+        long getEventCount();
+    }
+
+    interface ParticipantSummary {
+        int getUserId();
+
+        String getUsername();
+    }
 
-    @Query("SELECT e FROM Event e WHERE e.eventId = :eventId")
-    Event findById(@Param("eventId") int eventId);
+    /**
+     * Participant as addressed by the NotificationSender, never exported by the
+     * REST API
+     */
+    interface ParticipantContact {
+        int getUserId();
 
-    @Query("SELECT e FROM Event e JOIN e.participants p WHERE p.userId = :userId ORDER BY e.eventDate")
-    List<Event> findEventsByEventIdSortedByEventDate(@Param("userId") int userId);
+        String getUsername();
 
-}
\ No newline at end of file
+        String getEmail();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.eventsphere.repository;
+
+import com.example.eventsphere.dto.NotificationFeedDto;
+import com.example.eventsphere.model.NotificationReceipt;
+import com.example.eventsphere.model.NotificationReceiptId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotificationReceiptRepository extends JpaRepository<NotificationReceipt, NotificationReceiptId> {
+
+    /**
+     * Deliver a notification to every current participant of its event in one
+     * set-based statement. Users who already received it are skipped.
+     *
+     * @return number of new recipients
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_receipt"))
+    @Query(value = "INSERT IGNORE INTO notification_receipt (user_id, notification_id, event_id, is_read) "
+            + "SELECT eu.user_id, :notificationId, eu.event_id, FALSE FROM event_user eu WHERE eu.event_id = :eventId",
+            nativeQuery = true)
+    int insertForEventParticipants(@Param("notificationId") int notificationId, @Param("eventId") int eventId);
+
+    /**
+     * @return 1 if the notification was delivered, 0 if the user already received it
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_receipt"))
+    @Query(value = "INSERT IGNORE INTO notification_receipt (user_id, notification_id, event_id, is_read) "
+            + "VALUES (:userId, :notificationId, :eventId, FALSE)", nativeQuery = true)
+    int insertReceipt(@Param("userId") int userId, @Param("notificationId") int notificationId,
+                      @Param("eventId") int eventId);
+
+    /**
+     * Mark the notification unread again for the recipients still participating
+     * in its event
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_receipt"))
+    @Query(value = "UPDATE notification_receipt r SET r.is_read = FALSE "
+            + "WHERE r.notification_id = :notificationId AND r.is_read = TRUE AND EXISTS "
+            + "(SELECT 1 FROM event_user eu WHERE eu.event_id = r.event_id AND eu.user_id = r.user_id)",
+            nativeQuery = true)
+    int markUnreadForEventParticipants(@Param("notificationId") int notificationId);
+
+    /**
+     * @return 1 if the notification was unread, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE NotificationReceipt r SET r.isRead = true "
+            + "WHERE r.id.userId = :userId AND r.id.notificationId = :notificationId AND r.isRead = false")
+    int markRead(@Param("userId") int userId, @Param("notificationId") int notificationId);
+
+    @Modifying
+    @Query("UPDATE NotificationReceipt r SET r.isRead = true "
+            + "WHERE r.id.userId = :userId AND r.eventId = :eventId AND r.isRead = false")
+    int markReadByUserIdAndEventId(@Param("userId") int userId, @Param("eventId") int eventId);
+
+    @Modifying
+    @Query("UPDATE NotificationReceipt r SET r.isRead = true WHERE r.id.userId = :userId AND r.isRead = false")
+    int markReadByUserId(@Param("userId") int userId);
+
+    /**
+     * Page of the notifications received by the user, newest first, older than
+     * the given notification. Pass {@link Integer#MAX_VALUE} for the first page.
+     */
+    @Query("SELECT new com.example.eventsphere.dto.NotificationFeedDto(n.notificationId, r.eventId, "
+            + "n.notificationContent, n.createdAt, r.isRead) "
+            + "FROM NotificationReceipt r JOIN r.notification n "
+            + "WHERE r.id.userId = :userId AND r.id.notificationId < :notificationId "
+            + "ORDER BY r.id.notificationId DESC")
+    List<NotificationFeedDto> findFeedPageBefore(@Param("userId") int userId,
+                                                 @Param("notificationId") int notificationId, Limit limit);
+
+    @Query("SELECT new com.example.eventsphere.dto.NotificationFeedDto(n.notificationId, r.eventId, "
+            + "n.notificationContent, n.createdAt, r.isRead) "
+            + "FROM NotificationReceipt r JOIN r.notification n "
+            + "WHERE r.id.userId = :userId AND r.eventId = :eventId AND r.id.notificationId < :notificationId "
+            + "ORDER BY r.id.notificationId DESC")
+    List<NotificationFeedDto> findFeedPageBeforeByEventId(@Param("userId") int userId, @Param("eventId") int eventId,
+                                                          @Param("notificationId") int notificationId, Limit limit);
+}
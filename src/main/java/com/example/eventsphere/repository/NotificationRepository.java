@@ -1,29 +1,68 @@
 package com.example.eventsphere.repository;
 
-import com.example.eventsphere.model.Event;
 import com.example.eventsphere.model.Notification;
-import com.example.eventsphere.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.data.rest.core.config.Projection;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
 
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Exported by Spring Data REST under /api/notifications, read-only and only
+ * by id or paged per event, there is no listing of all notifications. Like the
+ * participants, they are shown only to the organizer of the event and admins.
+ */
+@RepositoryRestResource(path = "notifications", excerptProjection = NotificationRepository.NotificationExcerpt.class)
 public interface NotificationRepository extends JpaRepository<Notification, Integer> {
 
-    Notification findByNotificationContentAndUserAndEvent(String notificationContent, User user, Event event);
+    @Override
+    @RestResource
+    @PostAuthorize("returnObject.isEmpty() or @eventAccess.canManage(returnObject.get().event.eventId)")
+    Optional<Notification> findById(Integer notificationId);
 
-    @Query("SELECT n FROM Notification n JOIN n.user u WHERE u.userId = :userId")
+    /**
+     * Lookup of the service layer, which does its own access checks
+     */
+    Optional<Notification> findByNotificationId(int notificationId);
+
+    @RestResource(path = "byEvent", rel = "byEvent")
+    @PreAuthorize("@eventAccess.canManage(#eventId)")
+    Page<Notification> findByEventEventId(@Param("eventId") int eventId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.notificationContent = :notificationContent "
+            + "AND n.author.userId = :authorId AND n.event.eventId = :eventId")
+    Notification findByNotificationContentAndAuthorIdAndEventId(@Param("notificationContent") String notificationContent,
+                                                                @Param("authorId") int authorId,
+                                                                @Param("eventId") int eventId);
+
+    @Query("SELECT n FROM Notification n JOIN n.author u WHERE u.userId = :userId")
     List<Notification> findNotificationsByUserId(@Param("userId") int userId);
 
     @Query("SELECT n FROM Notification n JOIN n.event e WHERE e.eventId = :eventId")
     List<Notification> findNotificationsByEventId(@Param("eventId") int eventId);
 
-    @Query("SELECT e.eventId, COUNT(n.notificationId) " +
-            "FROM Notification n " +
-            "JOIN n.event e " +
-            "JOIN e.participants p " +
-            "WHERE p.userId = :userId " +
-            "GROUP BY e.eventId")
-    List<Object[]> findEventIdsWithUnreadNotificationCounts(@Param("userId") int userId);
-}
\ No newline at end of file
+    /**
+     * Notification as rendered in the collection resources of the REST API
+     */
+    @Projection(name = "excerpt", types = Notification.class)
+    interface NotificationExcerpt {
+        int getNotificationId();
+
+        String getNotificationContent();
+
+        @Value("#{target.event.eventId}")
+        int getEventId();
+
+        @Value("#{target.author?.userId}")
+        Integer getAuthorId();
+    }
+}
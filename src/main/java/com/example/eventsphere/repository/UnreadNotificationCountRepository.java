@@ -0,0 +1,77 @@
+package com.example.eventsphere.repository;
+
+import com.example.eventsphere.model.UnreadNotificationCount;
+import com.example.eventsphere.model.UnreadNotificationCountId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Counters are changed in the same transaction as the receipts they count.
+ */
+@Repository
+public interface UnreadNotificationCountRepository
+        extends JpaRepository<UnreadNotificationCount, UnreadNotificationCountId> {
+
+    /**
+     * Count a delivery of the notification to the current participants of its
+     * event, for every participant without an unread receipt of it yet
+     *
+     * @return number of counters changed
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_unread_count"))
+    @Query(value = "INSERT INTO notification_unread_count (user_id, event_id, unread_count) "
+            + "SELECT eu.user_id, eu.event_id, 1 FROM event_user eu WHERE eu.event_id = :eventId "
+            + "AND NOT EXISTS (SELECT 1 FROM notification_receipt r WHERE r.user_id = eu.user_id "
+            + "AND r.notification_id = :notificationId AND r.is_read = FALSE) "
+            + "ON DUPLICATE KEY UPDATE unread_count = unread_count + 1", nativeQuery = true)
+    int incrementForEventParticipants(@Param("notificationId") int notificationId, @Param("eventId") int eventId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_unread_count"))
+    @Query(value = "INSERT INTO notification_unread_count (user_id, event_id, unread_count) "
+            + "VALUES (:userId, :eventId, 1) ON DUPLICATE KEY UPDATE unread_count = unread_count + 1",
+            nativeQuery = true)
+    int increment(@Param("userId") int userId, @Param("eventId") int eventId);
+
+    @Modifying
+    @Query("UPDATE UnreadNotificationCount c SET c.unreadCount = c.unreadCount - 1 "
+            + "WHERE c.id.userId = :userId AND c.id.eventId = :eventId AND c.unreadCount > 0")
+    int decrement(@Param("userId") int userId, @Param("eventId") int eventId);
+
+    /**
+     * Take every unread receipt of the notification off its recipient's counter,
+     * before the notification is deleted
+     */
+    @Modifying
+    @Query("UPDATE UnreadNotificationCount c SET c.unreadCount = c.unreadCount - 1 "
+            + "WHERE c.unreadCount > 0 AND EXISTS (SELECT r FROM NotificationReceipt r "
+            + "WHERE r.id.notificationId = :notificationId AND r.isRead = false "
+            + "AND r.id.userId = c.id.userId AND r.eventId = c.id.eventId)")
+    int decrementForNotification(@Param("notificationId") int notificationId);
+
+    @Modifying
+    @Query("UPDATE UnreadNotificationCount c SET c.unreadCount = 0 WHERE c.id.userId = :userId")
+    int resetByUserId(@Param("userId") int userId);
+
+    @Modifying
+    @Query("UPDATE UnreadNotificationCount c SET c.unreadCount = 0 "
+            + "WHERE c.id.userId = :userId AND c.id.eventId = :eventId")
+    int reset(@Param("userId") int userId, @Param("eventId") int eventId);
+
+    /**
+     * @return eventId - unread notification count pairs of the user, events
+     *         without unread notifications are left out
+     */
+    @Query("SELECT c.id.eventId, c.unreadCount FROM UnreadNotificationCount c "
+            + "WHERE c.id.userId = :userId AND c.unreadCount > 0")
+    List<Object[]> findEventIdsWithUnreadCounts(@Param("userId") int userId);
+}
@@ -1,9 +1,13 @@
 package com.example.eventsphere.repository;
 
+import com.example.eventsphere.constants.UserConstants;
+import com.example.eventsphere.dto.UserAccountDto;
 import com.example.eventsphere.model.Event;
 import com.example.eventsphere.model.Role;
 import com.example.eventsphere.model.User;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,8 +21,29 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByEmail(String email);
 
+    /**
+     * Read-through cached lookup of the account, unknown emails are not cached.
+     * The snapshot is immutable, so the cached instance can be shared.
+     */
+    @Cacheable(cacheNames = UserConstants.USERS_BY_EMAIL_CACHE, unless = "#result == null")
+    @Query("SELECT new com.example.eventsphere.dto.UserAccountDto(u.userId, u.username, u.email, u.pwd) "
+            + "FROM User u WHERE u.email = :email")
+    Optional<UserAccountDto> findAccountByEmail(@Param("email") String email);
+
     User readByEmail(String email);
 
+    /**
+     * Compare-and-set of the password hash, a concurrent password change wins
+     * over a rehash
+     *
+     * @return 1 if the hash was replaced, 0 if the stored hash changed meanwhile
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.pwd = :upgradedPwd WHERE u.email = :email AND u.pwd = :currentPwd")
+    int updatePwd(@Param("email") String email, @Param("currentPwd") String currentPwd,
+                  @Param("upgradedPwd") String upgradedPwd);
+
+    @Cacheable(cacheNames = UserConstants.ROLES_BY_USER_ID_CACHE)
     @Query("SELECT u.roles FROM User u WHERE u.userId = :userId")
     Set<Role> findRolesByUserId(@Param("userId") int userId);
 
@@ -0,0 +1,47 @@
+package com.example.eventsphere.repository;
+
+import com.example.eventsphere.model.WaitlistRankNode;
+import com.example.eventsphere.model.WaitlistRankNodeId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Nodes are changed in the same transaction as the waitlist entries they count.
+ */
+@Repository
+public interface WaitlistRankRepository extends JpaRepository<WaitlistRankNode, WaitlistRankNodeId> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_waitlist_rank"))
+    @Query(value = "INSERT INTO event_waitlist_rank (event_id, node, waiting) VALUES (:eventId, :node, 1) "
+            + "ON DUPLICATE KEY UPDATE waiting = waiting + 1", nativeQuery = true)
+    int increment(@Param("eventId") int eventId, @Param("node") long node);
+
+    /**
+     * The nodes were created when the ticket was counted, a single statement
+     * takes it off all of them
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_waitlist_rank"))
+    @Query(value = "UPDATE event_waitlist_rank SET waiting = waiting - 1 WHERE event_id = :eventId "
+            + "AND node IN (:nodes)", nativeQuery = true)
+    int decrement(@Param("eventId") int eventId, @Param("nodes") Collection<Long> nodes);
+
+    /**
+     * @return sum of the added nodes minus the sum of the subtracted nodes, each
+     *         list read by primary key seeks
+     */
+    @Query(value = "SELECT COALESCE(SUM(CASE WHEN node IN (:added) THEN waiting ELSE -waiting END), 0) "
+            + "FROM event_waitlist_rank WHERE event_id = :eventId AND (node IN (:added) OR node IN (:subtracted))",
+            nativeQuery = true)
+    long sumNodes(@Param("eventId") int eventId, @Param("added") Collection<Long> added,
+                  @Param("subtracted") Collection<Long> subtracted);
+}
@@ -0,0 +1,41 @@
+package com.example.eventsphere.repository;
+
+import com.example.eventsphere.model.WaitlistEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Integer> {
+
+    /**
+     * @return 1 if the user was put on the waitlist, 0 if the user already waits
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_waitlist"))
+    @Query(value = "INSERT IGNORE INTO event_waitlist (event_id, user_id, ticket) VALUES (:eventId, :userId, :ticket)",
+            nativeQuery = true)
+    int insertEntry(@Param("eventId") int eventId, @Param("userId") int userId, @Param("ticket") long ticket);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_waitlist"))
+    @Query(value = "DELETE FROM event_waitlist WHERE event_id = :eventId AND user_id = :userId", nativeQuery = true)
+    int deleteEntry(@Param("eventId") int eventId, @Param("userId") int userId);
+
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.event.eventId = :eventId ORDER BY w.ticket")
+    List<WaitlistEntry> findHeadByEventId(@Param("eventId") int eventId, Limit limit);
+
+    @Query("SELECT w.ticket FROM WaitlistEntry w WHERE w.event.eventId = :eventId AND w.user.userId = :userId")
+    Long findTicketByEventIdAndUserId(@Param("eventId") int eventId, @Param("userId") int userId);
+
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.user.userId = :userId")
+    List<WaitlistEntry> findByUserId(@Param("userId") int userId);
+}
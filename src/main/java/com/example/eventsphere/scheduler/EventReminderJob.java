@@ -0,0 +1,30 @@
+package com.example.eventsphere.scheduler;
+
+import com.example.eventsphere.service.ReminderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the event reminders that became due. Every node runs it, the reminders
+ * are claimed with row locks and leases so each is sent once.
+ */
+@Component
+public class EventReminderJob {
+
+    Logger logger = LoggerFactory.getLogger(EventReminderJob.class);
+
+    private ReminderService reminderService;
+
+    public EventReminderJob(ReminderService reminderService) {
+        this.reminderService = reminderService;
+    }
+
+    @Scheduled(fixedDelayString = "${eventsphere.reminders.poll-interval}")
+    public void sendDueReminders() {
+        int sentReminders = reminderService.dispatchDueReminders();
+        if (sentReminders > 0)
+            logger.info("Sent {} event reminders", sentReminders);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.eventsphere.scheduler;
+
+import com.example.eventsphere.service.EventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recounts event participants and repairs counters that drifted
+ * from the event_user join table, e.g. after manual data fixes.
+ */
+@Component
+public class ParticipantCountReconciliationJob {
+
+    Logger logger = LoggerFactory.getLogger(ParticipantCountReconciliationJob.class);
+
+    private EventService eventService;
+
+    public ParticipantCountReconciliationJob(EventService eventService) {
+        this.eventService = eventService;
+    }
+
+    @Scheduled(cron = "${eventsphere.participant-count.reconcile-cron}")
+    public void reconcileParticipantCounts() {
+        int repairedEvents = eventService.reconcileParticipantCounts();
+        if (repairedEvents > 0)
+            logger.warn("Repaired participant count of {} events", repairedEvents);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.eventsphere.service;
+
+import com.example.eventsphere.dto.EventCatalogDto;
+import com.example.eventsphere.dto.NotificationFeedDto;
+import com.example.eventsphere.dto.ParticipantCountDto;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Read-only catalog for API clients. Every method hands the rows to the
+ * consumer one by one, reading them a page at a time so neither the whole
+ * listing nor a database connection is held while the consumer writes.
+ */
+public interface CatalogService {
+
+    /**
+     * Stream the events from the given date on in date order
+     *
+     * @param from
+     * @param consumer
+     */
+    void streamEvents(LocalDate from, Consumer<EventCatalogDto> consumer);
+
+    /**
+     * Stream the participant counts of the events from the given date on
+     *
+     * @param from
+     * @param consumer
+     */
+    void streamParticipantCounts(LocalDate from, Consumer<ParticipantCountDto> consumer);
+
+    /**
+     * Stream the notifications received by the user, newest first
+     *
+     * @param userId
+     * @param eventId only notifications of this event, all events if null
+     * @param consumer
+     */
+    void streamNotifications(int userId, Integer eventId, Consumer<NotificationFeedDto> consumer);
+}
@@ -0,0 +1,45 @@
+package com.example.eventsphere.service;
+
+/**
+ * Version stamps of the rendered pages. A stamp changes whenever data shown on
+ * the page changes, so an unchanged stamp lets a page be answered with 304 Not
+ * Modified without querying or rendering it. Stamps are bumped once the
+ * changing transaction has committed.
+ */
+public interface ContentVersionService {
+
+    /**
+     * Version of the event pages, bumped on changes of events, participants
+     * and waitlists
+     *
+     * @return stamp
+     */
+    String fetchCatalogVersion();
+
+    /**
+     * Version of the profile page of the user, covering the event pages and the
+     * notifications delivered to the user
+     *
+     * @param userId
+     * @return stamp
+     */
+    String fetchUserVersion(int userId);
+
+    /**
+     * Bump the version of the event pages
+     */
+    void catalogChanged();
+
+    /**
+     * Bump the version of every profile page, for notifications delivered to
+     * many users at once
+     */
+    void notificationsChanged();
+
+    /**
+     * Bump the version of the profile page of the user
+     *
+     * @param userId
+     */
+    void userChanged(int userId);
+}
@@ -0,0 +1,34 @@
+package com.example.eventsphere.service;
+
+import com.example.eventsphere.dto.EventSearchResultDto;
+
+import java.time.LocalDate;
+
+/**
+ * Full-text search of the events by name and location
+ */
+public interface EventSearchService {
+
+    /**
+     * Search the events whose name or location match every word of the text,
+     * words also match as prefix and with a typo or two
+     *
+     * @param text     words to search for, all events if blank
+     * @param from     first event date to include, unbounded if null
+     * @param to       last event date to include, unbounded if null
+     * @param location only events at exactly this location, a facet label
+     * @param page     zero based page number
+     * @param size     requested page size, clamped to the allowed range
+     * @return one page of hits, best match first or by date without text, and
+     *         the facet counts of all matching events
+     */
+    EventSearchResultDto searchEvents(String text, LocalDate from, LocalDate to, String location, int page,
+                                      Integer size);
+
+    /**
+     * Rebuild the search index from the database
+     *
+     * @return number of indexed events
+     */
+    int rebuildIndex();
+}
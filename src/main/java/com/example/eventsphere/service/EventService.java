@@ -1,9 +1,16 @@
 package com.example.eventsphere.service;
 
+import com.example.eventsphere.constants.CalendarView;
+import com.example.eventsphere.constants.EventJoinStatus;
+import com.example.eventsphere.constants.EventSortType;
+import com.example.eventsphere.dto.CursorPageDto;
+import com.example.eventsphere.dto.EventCalendarDto;
+import com.example.eventsphere.dto.EventDashboardDto;
 import com.example.eventsphere.dto.EventDto;
 import com.example.eventsphere.model.Event;
 import com.example.eventsphere.model.User;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface EventService {
@@ -29,6 +36,40 @@ public interface EventService {
      */
     List<Event> fetchAllSortedDesc();
 
+    /**
+     * Fetch one page of the event catalog with keyset pagination, so every page
+     * costs the same index seek regardless of its position
+     *
+     * @param sortType ordering of the catalog
+     * @param cursor   opaque cursor of the previous page, null for the first page
+     * @param size     requested page size, clamped to the allowed range
+     * @return Event Page
+     */
+    CursorPageDto<Event> fetchEventPage(EventSortType sortType, String cursor, Integer size);
+
+    /**
+     * Fetch one page of the events the user can still join, i.e. events the
+     * user neither organizes nor participates in, ordered by eventName
+     *
+     * @param userId
+     * @param cursor opaque cursor of the previous page, null for the first page
+     * @param size   requested page size, clamped to the allowed range
+     * @return Event Page
+     */
+    CursorPageDto<Event> fetchAvailableEventPage(int userId, String cursor, Integer size);
+
+    /**
+     * Fetch the organized, enrolled and joinable events of the user events page
+     * as read-only projections in a single query
+     *
+     * @param userId
+     * @param cursor opaque cursor of the previous joinable events page, null for
+     *               the first page
+     * @param size   requested joinable events page size
+     * @return EventDashboardDto
+     */
+    EventDashboardDto fetchEventDashboard(int userId, String cursor, Integer size);
+
     /**
      * Fetch all specific event participants by eventId
      *
@@ -38,7 +79,7 @@ public interface EventService {
     List<User> fetchParticipantsByEventId(int eventId);
 
     /**
-     * Update Event
+     * Update name, date and location of an existing Event
      *
      * @param event
      */
@@ -61,13 +102,46 @@ public interface EventService {
     List<Event> findEventsByUserId(int userId);
 
     /**
-     * Find all events with userId which specific user created and Order by event
-     * date
+     * Find the events the user participates in from today on, ordered by event
+     * date. Past events are filtered by the query.
+     *
+     * @param userId
+     * @return Event List
+     */
+    List<Event> findUpcomingEventsByUserId(int userId);
+
+    /**
+     * Find the events the user participates in dated in [from, to), ordered by
+     * event date
      *
      * @param userId
+     * @param from   first day
+     * @param to     day after the last day
      * @return Event List
      */
-    List<Event> findEventsByUserIdSortedByEventDate(int userId);
+    List<Event> findEventsByUserIdBetween(int userId, LocalDate from, LocalDate to);
+
+    /**
+     * Fetch the events dated in [from, to), ordered by event date
+     *
+     * @param from  first day
+     * @param to    day after the last day
+     * @param limit maximum number of events, clamped to the allowed range
+     * @return Event List
+     */
+    List<Event> fetchEventsBetween(LocalDate from, LocalDate to, Integer limit);
+
+    /**
+     * Fetch the upcoming events of the month or week containing the day, counted
+     * and listed per week or day, with the ones the user participates in marked.
+     * Days before today are not queried.
+     *
+     * @param userId
+     * @param view   month or week
+     * @param day    any day of the month or week, today if null
+     * @return EventCalendarDto
+     */
+    EventCalendarDto fetchCalendar(int userId, CalendarView view, LocalDate day);
 
     /**
      * Find all events which specific user created by users userId
@@ -78,12 +152,45 @@ public interface EventService {
     List<Event> findEventsByOrganizerId(int userId);
 
     /**
-     * Find all events by the organizers id
+     * Reserve a seat and add the user to the event's participants with a single
+     * idempotent insert. Safe under concurrent joins, the event's capacity is
+     * never exceeded. When the event is full the user is put on its FIFO
+     * waitlist.
+     *
+     * @param userId
+     * @param eventId
+     * @return EventJoinStatus
+     */
+    EventJoinStatus joinEvent(int userId, int eventId);
+
+    /**
+     * Remove the user from the event's participants with a single delete and
+     * promote the head of the waitlist into the freed seat. Users on the waitlist
+     * leave the waitlist instead.
      *
      * @param userId
-     * @return A Object List that contains Event and participant count who
-     *         participated to event
+     * @param eventId
+     * @return true if the user left, false if the user neither participated nor
+     *         waited
+     */
+    boolean leaveEvent(int userId, int eventId);
+
+    /**
+     * Find the position of the user on the event's waitlist with two index
+     * seeks. Entries that left the queue ahead of the user are not subtracted,
+     * so the position is exact unless someone ahead cancelled.
+     *
+     * @param userId
+     * @param eventId
+     * @return 1 based position, null if the user is not waitlisted
+     */
+    Long findWaitlistPosition(int userId, int eventId);
+
+    /**
+     * Repair participant counters which drifted from the actual participants
+     *
+     * @return number of repaired events
      */
-    List<Object[]> findEventsWithParticipantsCountByUserId(int userId);
+    int reconcileParticipantCounts();
 
 }
\ No newline at end of file
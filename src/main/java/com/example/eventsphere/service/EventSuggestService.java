@@ -0,0 +1,30 @@
+package com.example.eventsphere.service;
+
+import com.example.eventsphere.constants.EventSuggestionType;
+import com.example.eventsphere.dto.EventSuggestionDto;
+
+import java.util.List;
+
+/**
+ * Typeahead suggestions of event names and locations
+ */
+public interface EventSuggestService {
+
+    /**
+     * Suggest the names and locations with a word starting with the prefix,
+     * ignoring case and accents
+     *
+     * @param prefix what the user typed so far
+     * @param type   only names or only locations, both if null
+     * @param limit  requested number of suggestions, clamped to the allowed range
+     * @return the suggestions with the most participants first
+     */
+    List<EventSuggestionDto> suggest(String prefix, EventSuggestionType type, Integer limit);
+
+    /**
+     * Rebuild the suggestions from the database
+     *
+     * @return number of events
+     */
+    int rebuildIndex();
+}
@@ -0,0 +1,17 @@
+package com.example.eventsphere.service;
+
+import com.example.eventsphere.dto.OutboundMessageDto;
+
+/**
+ * Delivery channel of the messages sent outside the application. The log and
+ * file senders stand in for email, see CommunicationConfig.
+ */
+public interface NotificationSender {
+
+    /**
+     * Send one message, failures are thrown and logged by the caller
+     *
+     * @param message
+     */
+    void send(OutboundMessageDto message);
+}
@@ -1,19 +1,50 @@
 package com.example.eventsphere.service;
 
+import com.example.eventsphere.dto.BroadcastJobDto;
 import com.example.eventsphere.dto.NotificationDto;
 import com.example.eventsphere.model.Notification;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface NotificationService {
 
     /**
-     * Save Notification into DB with notificationDto entity
+     * Save Notification into DB with notificationDto entity and deliver it to
+     * every participant of its event
      *
      * @param notificationDto
      */
     void createNotification(NotificationDto notificationDto);
 
+    /**
+     * Save Notification into DB with notificationDto entity and deliver it to a
+     * single user. A userId of 0 in notificationDto marks a notification sent by
+     * the system.
+     *
+     * @param notificationDto
+     * @param recipientId
+     */
+    void createNotification(NotificationDto notificationDto, int recipientId);
+
+    /**
+     * Start sending the notification to every participant of its event in the
+     * background
+     *
+     * @param notificationDto
+     * @return id of the broadcast job
+     */
+    String broadcastNotification(NotificationDto notificationDto);
+
+    /**
+     * Find the progress of a broadcast job, jobs are forgotten an hour after
+     * their last progress
+     *
+     * @param jobId
+     * @return Optional BroadcastJobDto
+     */
+    Optional<BroadcastJobDto> fetchBroadcastJob(String jobId);
+
     /**
      * Save Notification into DB with notification entity
      *
@@ -52,10 +83,43 @@ public interface NotificationService {
     void deleteNotifications(int notificationId);
 
     /**
-     * Get a list which contains eventId - unread notification count for all
-     * notifications
+     * Get a list which contains eventId - unread notification count pairs of the
+     * user, read from the per-event unread counters
      *
+     * @param userId
      * @return List of eventId - unread notification count pair object
      */
     List<Object[]> findEventIdsWithUnreadNotificationCounts(int userId);
+
+    /**
+     * Get the number of unread notifications of the user for the event
+     *
+     * @param userId
+     * @param eventId
+     * @return unread notification count
+     */
+    int findUnreadNotificationCount(int userId, int eventId);
+
+    /**
+     * Mark a notification delivered to the user as read
+     *
+     * @param userId
+     * @param notificationId
+     */
+    void markNotificationRead(int userId, int notificationId);
+
+    /**
+     * Mark every notification of the event delivered to the user as read
+     *
+     * @param userId
+     * @param eventId
+     */
+    void markEventNotificationsRead(int userId, int eventId);
+
+    /**
+     * Mark every notification delivered to the user as read
+     *
+     * @param userId
+     */
+    void markAllNotificationsRead(int userId);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.eventsphere.service;
+
+public interface ReminderService {
+
+    /**
+     * Schedule the reminders of every upcoming event that has none yet
+     *
+     * @return number of scheduled reminders
+     */
+    int scheduleUpcomingReminders();
+
+    /**
+     * Move the reminders of the event to its current date
+     *
+     * @param eventId
+     */
+    void rescheduleReminders(int eventId);
+
+    /**
+     * Claim the due reminders in batches and send each to the participants of
+     * its event
+     *
+     * @return number of sent reminders
+     */
+    int dispatchDueReminders();
+}
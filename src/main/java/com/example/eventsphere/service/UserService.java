@@ -48,6 +48,17 @@ public interface UserService {
      */
     void updateUser(User user);
 
+    /**
+     * Replace the password hash of the user with a stronger hash of the same
+     * password, unless the password was changed in the meantime
+     *
+     * @param email
+     * @param currentPwd hash the new hash was computed against
+     * @param upgradedPwd
+     * @return boolean
+     */
+    boolean upgradePassword(String email, String currentPwd, String upgradedPwd);
+
     /**
      * Delete user by email
      *
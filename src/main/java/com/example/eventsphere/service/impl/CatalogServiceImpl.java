@@ -0,0 +1,63 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.dto.EventCatalogDto;
+import com.example.eventsphere.dto.NotificationFeedDto;
+import com.example.eventsphere.dto.ParticipantCountDto;
+import com.example.eventsphere.repository.EventRepository;
+import com.example.eventsphere.repository.NotificationReceiptRepository;
+import com.example.eventsphere.service.CatalogService;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the rows in keyset pages, each in its own short read-only transaction
+ * of the repository, and hands a page to the consumer only once its
+ * transaction is over. A slow client therefore never holds a connection of
+ * the pool while its socket drains.
+ */
+@Service
+@AllArgsConstructor
+public class CatalogServiceImpl implements CatalogService {
+
+    private static final Limit PAGE = Limit.of(500);
+
+    EventRepository eventRepository;
+    NotificationReceiptRepository notificationReceiptRepository;
+
+    @Override
+    public void streamEvents(LocalDate from, Consumer<EventCatalogDto> consumer) {
+        List<EventCatalogDto> page = eventRepository.findCatalogPageAfter(from, 0, PAGE);
+        while (!page.isEmpty()) {
+            page.forEach(consumer);
+            EventCatalogDto last = page.get(page.size() - 1);
+            page = eventRepository.findCatalogPageAfter(last.getEventDate(), last.getEventId(), PAGE);
+        }
+    }
+
+    @Override
+    public void streamParticipantCounts(LocalDate from, Consumer<ParticipantCountDto> consumer) {
+        List<ParticipantCountDto> page = eventRepository.findParticipantCountPageAfter(from, 0, PAGE);
+        while (!page.isEmpty()) {
+            page.forEach(consumer);
+            ParticipantCountDto last = page.get(page.size() - 1);
+            page = eventRepository.findParticipantCountPageAfter(last.getEventDate(), last.getEventId(), PAGE);
+        }
+    }
+
+    @Override
+    public void streamNotifications(int userId, Integer eventId, Consumer<NotificationFeedDto> consumer) {
+        int before = Integer.MAX_VALUE;
+        List<NotificationFeedDto> page;
+        while (!(page = eventId == null
+                ? notificationReceiptRepository.findFeedPageBefore(userId, before, PAGE)
+                : notificationReceiptRepository.findFeedPageBeforeByEventId(userId, eventId, before, PAGE)).isEmpty()) {
+            page.forEach(consumer);
+            before = page.get(page.size() - 1).getNotificationId();
+        }
+    }
+}
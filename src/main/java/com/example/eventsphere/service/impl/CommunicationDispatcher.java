@@ -0,0 +1,80 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.config.AsyncConfig;
+import com.example.eventsphere.dto.CommunicationDto;
+import com.example.eventsphere.dto.OutboundMessageDto;
+import com.example.eventsphere.repository.EventRepository;
+import com.example.eventsphere.repository.EventRepository.ParticipantContact;
+import com.example.eventsphere.repository.UserRepository;
+import com.example.eventsphere.service.NotificationSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Sends the messages published by the services through the NotificationSender
+ * once their transaction has committed, so a rolled back change never reaches
+ * the users. A message that fails is logged and not retried, the in-app
+ * notification remains the record.
+ */
+@Component
+public class CommunicationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommunicationDispatcher.class);
+
+    // recipients read per short transaction, slow sending never holds a connection
+    private static final Limit PAGE = Limit.of(500);
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final NotificationSender notificationSender;
+
+    public CommunicationDispatcher(EventRepository eventRepository, UserRepository userRepository,
+                                   NotificationSender notificationSender) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.notificationSender = notificationSender;
+    }
+
+    /**
+     * Send the message to its user or to the current participants of its event
+     */
+    @Async(AsyncConfig.COMMUNICATION_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void dispatch(CommunicationDto communication) {
+        if (communication.getEventId() == 0) {
+            userRepository.findById(communication.getUserId()).ifPresent(user -> send(communication,
+                    user.getEmail(), user.getUsername()));
+            return;
+        }
+        int sent = 0;
+        List<ParticipantContact> page = eventRepository.findParticipantContactPageAfter(communication.getEventId(), 0,
+                PAGE);
+        while (!page.isEmpty()) {
+            for (ParticipantContact participant : page) {
+                if (send(communication, participant.getEmail(), participant.getUsername()))
+                    sent++;
+            }
+            page = eventRepository.findParticipantContactPageAfter(communication.getEventId(),
+                    page.get(page.size() - 1).getUserId(), PAGE);
+        }
+        logger.debug("Sent \"{}\" to {} participants of event {}", communication.getSubject(), sent,
+                communication.getEventId());
+    }
+
+    private boolean send(CommunicationDto communication, String email, String name) {
+        try {
+            notificationSender.send(new OutboundMessageDto(email, name, communication.getSubject(),
+                    communication.getBody()));
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Sending \"{}\" to {} failed", communication.getSubject(), email, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.model.ContentVersion;
+import com.example.eventsphere.repository.ContentVersionRepository;
+import com.example.eventsphere.service.ContentVersionService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the stamps in the content_version table, so every node answers with
+ * the same stamp and a change on one node is seen by all of them. A stamp is
+ * read with one primary key lookup per request.
+ * <p>
+ * The scopes changed by a transaction are bumped together just before it
+ * commits, each once and in name order, so the hot catalog row is locked only
+ * for the commit and two transactions never wait on each other's stamps.
+ * Stamps only grow, also across restarts.
+ */
+@Service
+public class ContentVersionServiceImpl implements ContentVersionService {
+
+    private static final String CATALOG = "catalog";
+    private static final String NOTIFICATIONS = "notifications";
+    private static final String USER_PREFIX = "user-";
+
+    private final ContentVersionRepository contentVersionRepository;
+
+    public ContentVersionServiceImpl(ContentVersionRepository contentVersionRepository) {
+        this.contentVersionRepository = contentVersionRepository;
+    }
+
+    @Override
+    public String fetchCatalogVersion() {
+        return stamp(List.of(CATALOG));
+    }
+
+    @Override
+    public String fetchUserVersion(int userId) {
+        return stamp(List.of(CATALOG, NOTIFICATIONS, USER_PREFIX + userId));
+    }
+
+    @Override
+    public void catalogChanged() {
+        beforeCommit(CATALOG);
+    }
+
+    @Override
+    public void notificationsChanged() {
+        beforeCommit(NOTIFICATIONS);
+    }
+
+    @Override
+    public void userChanged(int userId) {
+        beforeCommit(USER_PREFIX + userId);
+    }
+
+    /**
+     * @return versions of the scopes in the given order, 0 for scopes that never
+     *         changed
+     */
+    private String stamp(List<String> scopes) {
+        Map<String, Long> versions = contentVersionRepository.findByScopeIn(scopes).stream()
+                .collect(Collectors.toMap(ContentVersion::getScope, ContentVersion::getVersion));
+        return scopes.stream()
+                .map(scope -> String.valueOf(versions.getOrDefault(scope, 0L)))
+                .collect(Collectors.joining("-"));
+    }
+
+    /**
+     * Bumping in the changing transaction means a request can never see the new
+     * stamp with the old data. Bumping after the commit instead would need a
+     * second pooled connection while the first one is still held.
+     */
+    @SuppressWarnings("unchecked")
+    private void beforeCommit(String scope) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            contentVersionRepository.bump(scope);
+            return;
+        }
+        Set<String> scopes = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (scopes == null) {
+            Set<String> changedScopes = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, changedScopes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    changedScopes.forEach(contentVersionRepository::bump);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(ContentVersionServiceImpl.this);
+                }
+            });
+            scopes = changedScopes;
+        }
+        scopes.add(scope);
+    }
+}
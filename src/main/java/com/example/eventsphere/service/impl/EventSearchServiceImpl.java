@@ -0,0 +1,333 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.constants.EventConstants;
+import com.example.eventsphere.constants.EventDateRange;
+import com.example.eventsphere.dto.EventCatalogDto;
+import com.example.eventsphere.dto.EventChangeDto;
+import com.example.eventsphere.dto.EventSearchHitDto;
+import com.example.eventsphere.dto.EventSearchResultDto;
+import com.example.eventsphere.model.Event;
+import com.example.eventsphere.repository.EventRepository;
+import com.example.eventsphere.service.EventSearchService;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.range.LongRange;
+import org.apache.lucene.facet.range.LongRangeFacetCounts;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps an in-memory Lucene index of the event names and locations. It is
+ * built from the database at startup and then follows the committed changes of
+ * EventService, a search never touches the database.
+ * <p>
+ * Words are looked up in the term dictionary, also as prefix and within one or
+ * two edits, so the cost of a search grows with the number of distinct words
+ * and matches rather than with the number of events as a LIKE scan would.
+ */
+@Service
+public class EventSearchServiceImpl implements EventSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchServiceImpl.class);
+
+    private static final String ID = "eventId";
+    private static final String NAME = "eventName";
+    private static final String LOCATION = "eventLocation";
+    private static final String LOCATION_FACET = "location";
+    private static final String DATE = "eventDate";
+
+    private static final SortField ID_SORT_FIELD = new SortField(ID, SortField.Type.INT);
+
+    private static final int MAX_WORDS = 10;
+    private static final int MAX_RESULT_WINDOW = 1000;
+    private static final int MAX_LOCATION_FACETS = 20;
+
+    private final EventRepository eventRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile ReaderFacets readerFacets;
+
+    public EventSearchServiceImpl(EventRepository eventRepository) throws IOException {
+        this.eventRepository = eventRepository;
+        this.indexWriter = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public int rebuildIndex() {
+        writeLock.lock();
+        try (Stream<EventCatalogDto> events = eventRepository.streamCatalog()) {
+            indexWriter.deleteAll();
+            int indexed = 0;
+            for (EventCatalogDto event : (Iterable<EventCatalogDto>) events::iterator) {
+                index(event.getEventId(), event.getEventName(), event.getEventDate(), event.getEventLocation());
+                indexed++;
+            }
+            searcherManager.maybeRefreshBlocking();
+            logger.info("Indexed {} events for search", indexed);
+            return indexed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Apply a change of the catalog once it is committed, a rolled back change
+     * never reaches the index
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChangeDto change) {
+        writeLock.lock();
+        try {
+            Event event = change.isDeleted() ? null : eventRepository.findById(change.getEventId());
+            if (event == null)
+                indexWriter.deleteDocuments(new Term(ID, Integer.toString(change.getEventId())));
+            else
+                index(event.getEventId(), event.getEventName(), event.getEventDate(), event.getEventLocation());
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            logger.error("Search index update of event {} failed", change.getEventId(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public EventSearchResultDto searchEvents(String text, LocalDate from, LocalDate to, String location, int page,
+                                             Integer size) {
+        int pageSize = size == null ? EventConstants.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(size, EventConstants.MAX_PAGE_SIZE));
+        int offset = Math.max(page, 0) * pageSize;
+        List<String> words = words(text);
+        Query query = buildQuery(words, from, to, location);
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                if (searcher.getIndexReader().numDocs() == 0)
+                    return EventSearchResultDto.empty();
+
+                FacetsCollector facetsCollector = new FacetsCollector();
+                int window = Math.min(offset + pageSize, MAX_RESULT_WINDOW);
+                Sort sort = words.isEmpty() ? new Sort(dateSortField(), ID_SORT_FIELD)
+                        : new Sort(SortField.FIELD_SCORE, dateSortField(), ID_SORT_FIELD);
+                TopDocs topDocs = FacetsCollector.search(searcher, query, window, sort, facetsCollector);
+
+                return new EventSearchResultDto(topDocs.totalHits.value, hits(searcher, topDocs, offset),
+                        locationCounts(searcher.getIndexReader(), facetsCollector), dateCounts(facetsCollector));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Every word has to match the name or the location, exactly, as prefix or
+     * within the edit distance; exact matches and names score higher. Date and
+     * location only filter and do not change the scores.
+     */
+    private static Query buildQuery(List<String> words, LocalDate from, LocalDate to, String location) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String word : words) {
+            BooleanQuery.Builder wordQuery = new BooleanQuery.Builder();
+            addWordQueries(wordQuery, NAME, word, 2f);
+            addWordQueries(wordQuery, LOCATION, word, 1f);
+            query.add(wordQuery.build(), BooleanClause.Occur.MUST);
+        }
+        if (from != null || to != null)
+            query.add(LongPoint.newRangeQuery(DATE, from == null ? Long.MIN_VALUE : from.toEpochDay(),
+                    to == null ? Long.MAX_VALUE : to.toEpochDay()), BooleanClause.Occur.FILTER);
+        if (location != null && !location.isBlank())
+            query.add(new TermQuery(new Term(LOCATION_FACET, location)), BooleanClause.Occur.FILTER);
+
+        BooleanQuery built = query.build();
+        return built.clauses().isEmpty() ? new MatchAllDocsQuery() : built;
+    }
+
+    /**
+     * Undated events come last
+     */
+    private static SortField dateSortField() {
+        SortField sortField = new SortField(DATE, SortField.Type.LONG);
+        sortField.setMissingValue(Long.MAX_VALUE);
+        return sortField;
+    }
+
+    private static void addWordQueries(BooleanQuery.Builder wordQuery, String field, String word, float boost) {
+        Term term = new Term(field, word);
+        wordQuery.add(new BoostQuery(new TermQuery(term), 3 * boost), BooleanClause.Occur.SHOULD);
+        wordQuery.add(new BoostQuery(new PrefixQuery(term), 2 * boost), BooleanClause.Occur.SHOULD);
+        // the first letter has to be right, which keeps the automaton small
+        if (word.length() >= 3)
+            wordQuery.add(new BoostQuery(new FuzzyQuery(term, word.length() <= 5 ? 1 : 2, 1), boost),
+                    BooleanClause.Occur.SHOULD);
+    }
+
+    private List<String> words(String text) {
+        if (text == null || text.isBlank())
+            return Collections.emptyList();
+        List<String> words = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && words.size() < MAX_WORDS)
+                words.add(term.toString());
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private void index(int eventId, String eventName, LocalDate eventDate, String eventLocation) throws IOException {
+        Document document = new Document();
+        String id = Integer.toString(eventId);
+        document.add(new StringField(ID, id, Field.Store.YES));
+        document.add(new NumericDocValuesField(ID, eventId));
+        if (eventName != null)
+            document.add(new TextField(NAME, eventName, Field.Store.YES));
+        if (eventLocation != null && !eventLocation.isBlank()) {
+            document.add(new TextField(LOCATION, eventLocation, Field.Store.YES));
+            document.add(new StringField(LOCATION_FACET, eventLocation, Field.Store.NO));
+            document.add(new SortedSetDocValuesFacetField(LOCATION_FACET, eventLocation));
+        }
+        if (eventDate != null) {
+            long epochDay = eventDate.toEpochDay();
+            document.add(new LongPoint(DATE, epochDay));
+            document.add(new NumericDocValuesField(DATE, epochDay));
+            document.add(new StoredField(DATE, epochDay));
+        }
+        indexWriter.updateDocument(new Term(ID, id), facetsConfig.build(document));
+    }
+
+    private static List<EventSearchHitDto> hits(IndexSearcher searcher, TopDocs topDocs, int offset)
+            throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<EventSearchHitDto> hits = new ArrayList<>();
+        for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+            ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+            Document document = storedFields.document(scoreDoc.doc);
+            Number epochDay = document.getField(DATE) == null ? null : document.getField(DATE).numericValue();
+            hits.add(new EventSearchHitDto(Integer.parseInt(document.get(ID)), document.get(NAME),
+                    epochDay == null ? null : LocalDate.ofEpochDay(epochDay.longValue()), document.get(LOCATION)));
+        }
+        return hits;
+    }
+
+    private Map<String, Integer> locationCounts(IndexReader reader, FacetsCollector facetsCollector)
+            throws IOException {
+        FacetResult result;
+        try {
+            result = new SortedSetDocValuesFacetCounts(readerFacets(reader), facetsCollector)
+                    .getTopChildren(MAX_LOCATION_FACETS, LOCATION_FACET);
+        } catch (IllegalArgumentException e) {
+            // no event with a location in the index
+            return Map.of();
+        }
+        return toMap(result);
+    }
+
+    private static Map<String, Integer> dateCounts(FacetsCollector facetsCollector) throws IOException {
+        LocalDate today = LocalDate.now();
+        EventDateRange[] dateRanges = EventDateRange.values();
+        LongRange[] ranges = new LongRange[dateRanges.length];
+        for (int i = 0; i < dateRanges.length; i++)
+            ranges[i] = new LongRange(dateRanges[i].getLabel(), dateRanges[i].getFromEpochDay(today), true,
+                    dateRanges[i].getToEpochDay(today), true);
+        return toMap(new LongRangeFacetCounts(DATE, facetsCollector, ranges).getAllChildren(DATE));
+    }
+
+    private static Map<String, Integer> toMap(FacetResult result) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        if (result != null)
+            for (LabelAndValue labelAndValue : result.labelValues)
+                counts.put(labelAndValue.label, labelAndValue.value.intValue());
+        return counts;
+    }
+
+    /**
+     * The ordinals of the location facet are mapped once per index snapshot,
+     * not on every search
+     */
+    private SortedSetDocValuesReaderState readerFacets(IndexReader reader) throws IOException {
+        ReaderFacets current = readerFacets;
+        if (current != null && current.reader() == reader)
+            return current.state();
+        SortedSetDocValuesReaderState state = new DefaultSortedSetDocValuesReaderState(reader, facetsConfig);
+        readerFacets = new ReaderFacets(reader, state);
+        return state;
+    }
+
+    private record ReaderFacets(IndexReader reader, SortedSetDocValuesReaderState state) {
+    }
+}
@@ -1,22 +1,59 @@
 package com.example.eventsphere.service.impl;
 
+import com.example.eventsphere.config.EventSpherePrincipal;
+import com.example.eventsphere.constants.CalendarView;
+import com.example.eventsphere.constants.EventConstants;
+import com.example.eventsphere.constants.EventJoinStatus;
+import com.example.eventsphere.constants.EventSortType;
+import com.example.eventsphere.constants.LiveUpdateType;
+import com.example.eventsphere.constants.NotificationConstants;
+import com.example.eventsphere.dto.CursorPageDto;
+import com.example.eventsphere.dto.EventCalendarBucketDto;
+import com.example.eventsphere.dto.EventCalendarDto;
+import com.example.eventsphere.dto.EventChangeDto;
+import com.example.eventsphere.dto.EventDashboardDto;
+import com.example.eventsphere.dto.EventCursor;
 import com.example.eventsphere.dto.EventDto;
+import com.example.eventsphere.dto.LiveUpdateDto;
+import com.example.eventsphere.dto.NotificationDto;
 import com.example.eventsphere.dto.mapper.EventMapper;
 import com.example.eventsphere.exception.DataAlreadyExistsException;
 import com.example.eventsphere.exception.ResourceNotFoundException;
 import com.example.eventsphere.model.Event;
 import com.example.eventsphere.model.User;
+import com.example.eventsphere.model.WaitlistEntry;
 import com.example.eventsphere.repository.EventRepository;
+import com.example.eventsphere.repository.EventRepository.EventSummary;
 import com.example.eventsphere.repository.UserRepository;
+import com.example.eventsphere.repository.WaitlistRepository;
+import com.example.eventsphere.service.ContentVersionService;
 import com.example.eventsphere.service.EventService;
+import com.example.eventsphere.service.NotificationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class EventServiceImpl implements EventService {
@@ -25,12 +62,29 @@ public class EventServiceImpl implements EventService {
 
     private EventRepository eventRepository;
     private UserRepository userRepository;
+    private WaitlistRepository waitlistRepository;
+    private WaitlistRanks waitlistRanks;
+    private NotificationService notificationService;
+    private ApplicationEventPublisher eventPublisher;
+    private ContentVersionService contentVersionService;
+    private EntityManagerFactory entityManagerFactory;
 
-    public EventServiceImpl(EventRepository eventRepository, UserRepository userRepository) {
+    public EventServiceImpl(EventRepository eventRepository, UserRepository userRepository,
+                            WaitlistRepository waitlistRepository, WaitlistRanks waitlistRanks,
+                            NotificationService notificationService,
+                            ApplicationEventPublisher eventPublisher, ContentVersionService contentVersionService,
+                            EntityManagerFactory entityManagerFactory) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.waitlistRanks = waitlistRanks;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.contentVersionService = contentVersionService;
+        this.entityManagerFactory = entityManagerFactory;
     }
     @Override
+    @Transactional
     public void createEvent(EventDto eventDto) {
 
         Event event = EventMapper.mapToEvent(eventDto, new Event());
@@ -42,13 +96,15 @@ public class EventServiceImpl implements EventService {
                     .formatted(eventDto.getEventName(), eventDto.getEventDate(), eventDto.getEventLocation()));
         }
 
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "email", email));
-        event.setUser(user);
+        // the organizer only needs to be referenced, a detached User would break the
+        // cascade of the Event insert
+        EventSpherePrincipal principal = (EventSpherePrincipal) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+        event.setUser(userRepository.getReferenceById(principal.getUserId()));
 
         Event savedEvent = eventRepository.save(event);
+        contentVersionService.catalogChanged();
+        eventPublisher.publishEvent(EventChangeDto.saved(savedEvent.getEventId()));
     }
 
     @Override
@@ -63,21 +119,133 @@ public class EventServiceImpl implements EventService {
         return eventRepository.findAll(Sort.by("eventName").descending());
     }
 
+    @Override
+    public CursorPageDto<Event> fetchEventPage(EventSortType sortType, String cursor, Integer size) {
+        int pageSize = clampPageSize(size);
+        // fetch one extra row to find out whether there is a next page
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Event> events;
+        if (sortType == EventSortType.DATE) {
+            if (cursor == null || cursor.isBlank()) {
+                events = eventRepository.findFirstPageByEventDate(limit);
+            } else {
+                EventCursor eventCursor = EventCursor.decode(cursor, sortType);
+                events = eventRepository.findPageAfterEventDate(eventCursor.getEventDate(),
+                        eventCursor.getEventId(), limit);
+            }
+        } else {
+            if (cursor == null || cursor.isBlank()) {
+                events = eventRepository.findFirstPageByEventName(limit);
+            } else {
+                EventCursor eventCursor = EventCursor.decode(cursor, sortType);
+                events = eventRepository.findPageAfterEventName(eventCursor.getEventName(),
+                        eventCursor.getEventId(), limit);
+            }
+        }
+
+        return toPage(events, pageSize, sortType);
+    }
+
+    @Override
+    public CursorPageDto<Event> fetchAvailableEventPage(int userId, String cursor, Integer size) {
+        int pageSize = clampPageSize(size);
+
+        List<Event> events;
+        if (cursor == null || cursor.isBlank()) {
+            events = eventRepository.findFirstAvailablePageByEventName(userId, pageSize + 1);
+        } else {
+            EventCursor eventCursor = EventCursor.decode(cursor, EventSortType.NAME);
+            events = eventRepository.findAvailablePageAfterEventName(userId, eventCursor.getEventName(),
+                    eventCursor.getEventId(), pageSize + 1);
+        }
+
+        return toPage(events, pageSize, EventSortType.NAME);
+    }
+
+    @Override
+    public EventDashboardDto fetchEventDashboard(int userId, String cursor, Integer size) {
+        int pageSize = clampPageSize(size);
+
+        String eventName = null;
+        int eventId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            EventCursor eventCursor = EventCursor.decode(cursor, EventSortType.NAME);
+            eventName = eventCursor.getEventName();
+            eventId = eventCursor.getEventId();
+        }
+
+        List<EventSummary> organizedEvents = new ArrayList<>();
+        List<EventSummary> enrolledEvents = new ArrayList<>();
+        List<EventSummary> waitlistedEvents = new ArrayList<>();
+        Map<Integer, Long> waitlistPositions = new HashMap<>();
+        List<EventSummary> availableEvents = new ArrayList<>();
+        for (EventSummary row : eventRepository.findEventDashboardByUserId(userId, eventName, eventId, pageSize + 1)) {
+            switch (row.getSection()) {
+                case ORGANIZED -> organizedEvents.add(row);
+                case ENROLLED -> enrolledEvents.add(row);
+                case WAITLISTED -> {
+                    waitlistedEvents.add(row);
+                    waitlistPositions.put(row.getEventId(), waitlistRanks.position(row.getEventId(),
+                            row.getWaitlistTicket()));
+                }
+                case AVAILABLE -> availableEvents.add(row);
+            }
+        }
+
+        return new EventDashboardDto(organizedEvents, enrolledEvents, waitlistedEvents, waitlistPositions,
+                toPage(availableEvents, pageSize,
+                        event -> EventCursor.byName(event.getEventName(), event.getEventId())));
+    }
+
+    private int clampPageSize(Integer size) {
+        if (size == null)
+            return EventConstants.DEFAULT_PAGE_SIZE;
+        return Math.max(1, Math.min(size, EventConstants.MAX_PAGE_SIZE));
+    }
+
+    private CursorPageDto<Event> toPage(List<Event> events, int pageSize, EventSortType sortType) {
+        return toPage(events, pageSize, sortType == EventSortType.DATE
+                ? event -> EventCursor.byDate(event.getEventDate(), event.getEventId())
+                : event -> EventCursor.byName(event.getEventName(), event.getEventId()));
+    }
+
+    private <T> CursorPageDto<T> toPage(List<T> rows, int pageSize, Function<T, EventCursor> cursorOf) {
+        if (rows.size() <= pageSize)
+            return new CursorPageDto<>(rows, null, pageSize);
+
+        List<T> content = rows.subList(0, pageSize);
+        return new CursorPageDto<>(content, cursorOf.apply(content.get(pageSize - 1)).encode(), pageSize);
+    }
+
     @Override
     public List<User> fetchParticipantsByEventId(int eventId) {
         return eventRepository.findParticipantsByEventId(eventId);
     }
 
     @Override
+    @Transactional
     public void updateEvent(Event event) {
-        eventRepository.save(event);
+        // copy the editable fields onto the managed entity instead of merging the
+        // detached one, which would rewrite the participants collection
+        Event savedEvent = eventRepository.findById(event.getEventId());
+        if (savedEvent == null)
+            throw new ResourceNotFoundException("Event", "eventId", String.valueOf(event.getEventId()));
+        savedEvent.setEventName(event.getEventName());
+        savedEvent.setEventDate(event.getEventDate());
+        savedEvent.setEventLocation(event.getEventLocation());
+        contentVersionService.catalogChanged();
+        eventPublisher.publishEvent(EventChangeDto.saved(savedEvent.getEventId()));
     }
 
     @Override
+    @Transactional
     public void deleteEvent(int eventId) {
         Event event = eventRepository.findById(eventId);
 
         eventRepository.delete(event);
+        contentVersionService.catalogChanged();
+        eventPublisher.publishEvent(EventChangeDto.deleted(eventId));
     }
 
     @Override
@@ -92,12 +260,190 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    public List<Object[]> findEventsWithParticipantsCountByUserId(int userId) {
-        return eventRepository.findEventsWithParticipantsCountByUserId(userId);
+    public List<Event> findUpcomingEventsByUserId(int userId) {
+        return eventRepository.findUpcomingEventsByUserId(userId, LocalDate.now());
+    }
+
+    @Override
+    public List<Event> findEventsByUserIdBetween(int userId, LocalDate from, LocalDate to) {
+        return eventRepository.findEventsByUserIdAndEventDateRange(userId, from, to);
+    }
+
+    @Override
+    public List<Event> fetchEventsBetween(LocalDate from, LocalDate to, Integer limit) {
+        return eventRepository.findByEventDateRange(from, to, Limit.of(clampPageSize(limit)));
+    }
+
+    @Override
+    public EventCalendarDto fetchCalendar(int userId, CalendarView view, LocalDate day) {
+        LocalDate today = LocalDate.now();
+        LocalDate shownDay = day != null ? day : today;
+        LocalDate from = view == CalendarView.MONTH ? shownDay.withDayOfMonth(1)
+                : shownDay.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate to = view == CalendarView.MONTH ? from.plusMonths(1) : from.plusWeeks(1);
+        LocalDate previous = view == CalendarView.MONTH ? from.minusMonths(1) : from.minusWeeks(1);
+
+        // past days are neither counted nor listed
+        LocalDate queryFrom = from.isBefore(today) ? today : from;
+        List<EventCalendarBucketDto> buckets = new ArrayList<>();
+        if (!queryFrom.isBefore(to)) {
+            return new EventCalendarDto(view, from, to, null, to, 0, false, buckets, Set.of());
+        }
+
+        Map<LocalDate, Long> countsByDay = new HashMap<>();
+        long eventCount = 0;
+        for (EventRepository.EventDateCount count : eventRepository.countByEventDateRange(queryFrom, to)) {
+            countsByDay.put(count.getEventDate(), count.getEventCount());
+            eventCount += count.getEventCount();
+        }
+        List<Event> events = eventCount == 0 ? List.of()
+                : eventRepository.findByEventDateRange(queryFrom, to, Limit.of(EventConstants.MAX_CALENDAR_EVENTS));
+        Set<Integer> enrolledEventIds = events.isEmpty() ? Set.of()
+                : new HashSet<>(eventRepository.findEventIdsByUserIdAndEventDateRange(userId, queryFrom, to));
+
+        int next = 0;
+        for (LocalDate bucketFrom = queryFrom; bucketFrom.isBefore(to); ) {
+            LocalDate bucketTo = view == CalendarView.MONTH
+                    ? bucketFrom.with(TemporalAdjusters.next(DayOfWeek.MONDAY)) : bucketFrom.plusDays(1);
+            if (bucketTo.isAfter(to))
+                bucketTo = to;
+            long bucketCount = 0;
+            for (LocalDate date = bucketFrom; date.isBefore(bucketTo); date = date.plusDays(1))
+                bucketCount += countsByDay.getOrDefault(date, 0L);
+            int first = next;
+            while (next < events.size() && events.get(next).getEventDate().isBefore(bucketTo))
+                next++;
+            buckets.add(new EventCalendarBucketDto(bucketFrom, bucketTo, bucketCount, events.subList(first, next)));
+            bucketFrom = bucketTo;
+        }
+        return new EventCalendarDto(view, from, to, from.isAfter(today) ? previous : null, to, eventCount,
+                events.size() < eventCount, buckets, enrolledEventIds);
+    }
+
+    @Override
+    @Transactional
+    public EventJoinStatus joinEvent(int userId, int eventId) {
+        Integer organizerId = eventRepository.findOrganizerIdByEventId(eventId);
+        if (organizerId != null && organizerId == userId)
+            return EventJoinStatus.ORGANIZER;
+
+        // take the seat first: the event row stays locked until commit, so joins of
+        // the same event are serialized while other events are unaffected
+        if (eventRepository.reserveSeat(eventId) == 0) {
+            if (eventRepository.isParticipant(eventId, userId))
+                return EventJoinStatus.ALREADY_JOINED;
+            // a waiting user keeps the ticket, drawing another would push back everyone after
+            if (waitlistRepository.findTicketByEventIdAndUserId(eventId, userId) != null)
+                return EventJoinStatus.WAITLISTED;
+            // no seat and no ticket to draw: the event does not exist
+            if (eventRepository.incrementWaitlistTicket(eventId) == 0)
+                throw new ResourceNotFoundException("Event", "eventId", String.valueOf(eventId));
+            long ticket = eventRepository.findWaitlistTicketByEventId(eventId);
+            if (waitlistRepository.insertEntry(eventId, userId, ticket) == 1)
+                waitlistRanks.add(eventId, ticket);
+            countersChanged(eventId);
+            contentVersionService.catalogChanged();
+            return EventJoinStatus.WAITLISTED;
+        }
+        if (eventRepository.insertParticipant(eventId, userId) == 0) {
+            eventRepository.decrementParticipantCount(eventId);
+            return EventJoinStatus.ALREADY_JOINED;
+        }
+        countersChanged(eventId);
+        contentVersionService.catalogChanged();
+        eventPublisher.publishEvent(
+                LiveUpdateDto.participantChange(LiveUpdateType.PARTICIPANT_JOINED, eventId, userId));
+        return EventJoinStatus.JOINED;
+    }
+
+    @Override
+    @Transactional
+    public boolean leaveEvent(int userId, int eventId) {
+        contentVersionService.catalogChanged();
+        if (eventRepository.deleteParticipant(eventId, userId) == 0)
+            return leaveWaitlist(userId, eventId);
+        eventRepository.decrementParticipantCount(eventId);
+        countersChanged(eventId);
+        eventPublisher.publishEvent(
+                LiveUpdateDto.participantChange(LiveUpdateType.PARTICIPANT_LEFT, eventId, userId));
+        promoteFromWaitlist(eventId);
+        return true;
+    }
+
+    private boolean leaveWaitlist(int userId, int eventId) {
+        Long ticket = waitlistRepository.findTicketByEventIdAndUserId(eventId, userId);
+        if (ticket == null || waitlistRepository.deleteEntry(eventId, userId) == 0)
+            return false;
+        waitlistRanks.remove(eventId, ticket);
+        return true;
+    }
+
+    /**
+     * Move the head of the waitlist into a free seat of the event. Runs in the
+     * leaving transaction, which still holds the event row lock, so no other join
+     * can take the seat first.
+     */
+    private void promoteFromWaitlist(int eventId) {
+        if (eventRepository.reserveSeat(eventId) == 0)
+            return;
+
+        List<WaitlistEntry> head;
+        while (!(head = waitlistRepository.findHeadByEventId(eventId, Limit.of(1))).isEmpty()) {
+            WaitlistEntry entry = head.get(0);
+            int userId = entry.getUser().getUserId();
+            // a concurrent leave of the same user took the entry and its ticket off already
+            if (waitlistRepository.deleteEntry(eventId, userId) == 1)
+                waitlistRanks.remove(eventId, entry.getTicket());
+            if (eventRepository.insertParticipant(eventId, userId) == 1) {
+                eventPublisher.publishEvent(
+                        LiveUpdateDto.participantChange(LiveUpdateType.PARTICIPANT_JOINED, eventId, userId));
+                NotificationDto notificationDto = new NotificationDto();
+                notificationDto.setEventId(eventId);
+                notificationDto.setNotificationContent(NotificationConstants.WAITLIST_PROMOTION_CONTENT
+                        .formatted(eventRepository.findById(eventId).getEventName()));
+                notificationService.createNotification(notificationDto, userId);
+                return;
+            }
+        }
+        // nobody to promote, give the seat back
+        eventRepository.decrementParticipantCount(eventId);
+    }
+
+    /**
+     * The counter updates leave the event region and the cached dashboards
+     * alone, so drop the cached copy of this event and the dashboards now and
+     * again after commit, when a concurrent reader may have cached the old row
+     * meanwhile
+     */
+    private void countersChanged(int eventId) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evict(Event.class, eventId);
+        cache.evictQueryRegion(EventConstants.DASHBOARD_QUERY_REGION);
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evict(Event.class, eventId);
+                cache.evictQueryRegion(EventConstants.DASHBOARD_QUERY_REGION);
+            }
+        });
+    }
+
+    @Override
+    public Long findWaitlistPosition(int userId, int eventId) {
+        Long ticket = waitlistRepository.findTicketByEventIdAndUserId(eventId, userId);
+        if (ticket == null)
+            return null;
+        return waitlistRanks.position(eventId, ticket);
     }
 
     @Override
-    public List<Event> findEventsByUserIdSortedByEventDate(int userId) {
-        return eventRepository.findEventsByEventIdSortedByEventDate(userId);
+    @Transactional
+    public int reconcileParticipantCounts() {
+        int repairedEvents = eventRepository.reconcileParticipantCounts();
+        if (repairedEvents > 0)
+            contentVersionService.catalogChanged();
+        return repairedEvents;
     }
 }
\ No newline at end of file
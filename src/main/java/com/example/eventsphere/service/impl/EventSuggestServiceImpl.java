@@ -0,0 +1,229 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.constants.EventSuggestionType;
+import com.example.eventsphere.constants.LiveUpdateType;
+import com.example.eventsphere.dto.EventCatalogDto;
+import com.example.eventsphere.dto.EventChangeDto;
+import com.example.eventsphere.dto.EventSuggestionDto;
+import com.example.eventsphere.dto.LiveUpdateDto;
+import com.example.eventsphere.model.Event;
+import com.example.eventsphere.repository.EventRepository;
+import com.example.eventsphere.service.EventSuggestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one PrefixTopKIndex of the event names and one of the locations, each
+ * text ranked by the participants of all events carrying it. Both are built
+ * from the database at startup, a lookup never touches the database.
+ * <p>
+ * Committed event and participant changes only note the event id, the changed
+ * events are reloaded together on a fixed delay. Participant changes keep the
+ * sorted entries and only rebuild the popularity tree, a new or removed text
+ * rebuilds the index.
+ */
+@Service
+public class EventSuggestServiceImpl implements EventSuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSuggestServiceImpl.class);
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 20;
+    private static final int MAX_PREFIX_LENGTH = 100;
+
+    private final EventRepository eventRepository;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Set<Integer> changedEventIds = ConcurrentHashMap.newKeySet();
+
+    // guarded by writeLock
+    private final Map<Integer, IndexedEvent> events = new HashMap<>();
+    private final Suggestions names = new Suggestions();
+    private final Suggestions locations = new Suggestions();
+
+    public EventSuggestServiceImpl(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Override
+    public List<EventSuggestionDto> suggest(String prefix, EventSuggestionType type, Integer limit) {
+        int k = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        if (prefix == null || prefix.isBlank() || prefix.length() > MAX_PREFIX_LENGTH)
+            return List.of();
+
+        List<EventSuggestionDto> suggestions = new ArrayList<>();
+        if (type != EventSuggestionType.LOCATION)
+            addTop(suggestions, names.index, EventSuggestionType.NAME, prefix, k);
+        if (type != EventSuggestionType.NAME)
+            addTop(suggestions, locations.index, EventSuggestionType.LOCATION, prefix, k);
+        if (type != null)
+            return suggestions;
+
+        suggestions.sort(Comparator.comparingInt(EventSuggestionDto::getParticipantCount).reversed());
+        return suggestions.size() > k ? suggestions.subList(0, k) : suggestions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public int rebuildIndex() {
+        writeLock.lock();
+        try (Stream<EventCatalogDto> catalog = eventRepository.streamCatalog()) {
+            events.clear();
+            names.clear();
+            locations.clear();
+            for (EventCatalogDto event : (Iterable<EventCatalogDto>) catalog::iterator) {
+                put(event.getEventId(), new IndexedEvent(event.getEventName(), event.getEventLocation(),
+                        event.getParticipantCount()));
+            }
+            names.publish();
+            locations.publish();
+            logger.info("Indexed {} names and {} locations of {} events for suggestions", names.index.size(),
+                    locations.index.size(), events.size());
+            return events.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChangeDto change) {
+        changedEventIds.add(change.getEventId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onParticipantChange(LiveUpdateDto update) {
+        if (update.getType() != LiveUpdateType.NOTIFICATION)
+            changedEventIds.add(update.getEventId());
+    }
+
+    /**
+     * Reload the events changed since the last run and publish the new indexes
+     */
+    @Scheduled(fixedDelayString = "${eventsphere.suggest.refresh-interval}")
+    public void applyChanges() {
+        if (changedEventIds.isEmpty())
+            return;
+        writeLock.lock();
+        try {
+            List<Integer> eventIds = new ArrayList<>(changedEventIds);
+            // removed before reading, a change committed meanwhile is read now or on the next run
+            changedEventIds.removeAll(eventIds);
+            Map<Integer, IndexedEvent> changedEvents = new HashMap<>();
+            for (Event event : eventRepository.findAllById(eventIds)) {
+                changedEvents.put(event.getEventId(), new IndexedEvent(event.getEventName(),
+                        event.getEventLocation(), event.getParticipantCount()));
+            }
+            eventIds.forEach(eventId -> put(eventId, changedEvents.get(eventId)));
+            names.publish();
+            locations.publish();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void put(int eventId, IndexedEvent event) {
+        IndexedEvent previous = event == null ? events.remove(eventId) : events.put(eventId, event);
+        if (previous != null) {
+            names.remove(previous.name(), previous.participantCount());
+            locations.remove(previous.location(), previous.participantCount());
+        }
+        if (event != null) {
+            names.add(event.name(), event.participantCount());
+            locations.add(event.location(), event.participantCount());
+        }
+    }
+
+    private static void addTop(List<EventSuggestionDto> suggestions, PrefixTopKIndex index,
+                               EventSuggestionType type, String prefix, int k) {
+        for (int position : index.top(prefix, k))
+            suggestions.add(new EventSuggestionDto(index.text(position), type, index.popularity(position)));
+    }
+
+    private record IndexedEvent(String name, String location, int participantCount) {
+    }
+
+    /**
+     * Participants per text of one event field and the published index of them
+     */
+    private static final class Suggestions {
+
+        private final Map<String, Aggregate> aggregates = new HashMap<>();
+        private final Set<String> changedTexts = new HashSet<>();
+        private boolean textsChanged;
+        private volatile PrefixTopKIndex index = PrefixTopKIndex.EMPTY;
+
+        void add(String text, int participantCount) {
+            if (text == null || text.isBlank())
+                return;
+            Aggregate aggregate = aggregates.get(text);
+            if (aggregate == null) {
+                aggregate = new Aggregate();
+                aggregates.put(text, aggregate);
+                textsChanged = true;
+            }
+            aggregate.events++;
+            aggregate.participantCount += participantCount;
+            changedTexts.add(text);
+        }
+
+        void remove(String text, int participantCount) {
+            Aggregate aggregate = text == null ? null : aggregates.get(text);
+            if (aggregate == null)
+                return;
+            aggregate.participantCount -= participantCount;
+            if (--aggregate.events == 0) {
+                aggregates.remove(text);
+                textsChanged = true;
+            }
+            changedTexts.add(text);
+        }
+
+        void clear() {
+            aggregates.clear();
+            textsChanged = true;
+        }
+
+        void publish() {
+            if (textsChanged) {
+                String[] texts = aggregates.keySet().toArray(String[]::new);
+                Arrays.sort(texts);
+                int[] popularity = new int[texts.length];
+                for (int i = 0; i < texts.length; i++)
+                    popularity[i] = aggregates.get(texts[i]).participantCount;
+                index = PrefixTopKIndex.build(texts, popularity);
+            } else if (!changedTexts.isEmpty()) {
+                PrefixTopKIndex current = index;
+                int[] popularity = current.popularities();
+                for (String text : changedTexts)
+                    popularity[current.indexOf(text)] = aggregates.get(text).participantCount;
+                index = current.withPopularity(popularity);
+            }
+            textsChanged = false;
+            changedTexts.clear();
+        }
+    }
+
+    private static final class Aggregate {
+
+        private int events;
+        private int participantCount;
+    }
+}
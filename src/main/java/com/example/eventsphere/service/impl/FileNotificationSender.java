@@ -0,0 +1,39 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.dto.OutboundMessageDto;
+import com.example.eventsphere.service.NotificationSender;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Appends every message as one tab separated line to a local file instead of
+ * sending it, an outbox to inspect during development and tests
+ */
+public class FileNotificationSender implements NotificationSender {
+
+    private final Path file;
+
+    public FileNotificationSender(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void send(OutboundMessageDto message) {
+        String line = String.join("\t", LocalDateTime.now().toString(), message.getRecipientEmail(),
+                message.getSubject(), message.getBody().replaceAll("\\s+", " ")) + System.lineSeparator();
+        try {
+            if (file.getParent() != null)
+                Files.createDirectories(file.getParent());
+            Files.writeString(file, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.config.AsyncConfig;
+import com.example.eventsphere.constants.LiveUpdateType;
+import com.example.eventsphere.dto.LiveUpdateDto;
+import com.example.eventsphere.model.Event;
+import com.example.eventsphere.repository.EventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe hub of the live update stream. Every subscriber
+ * is an SseEmitter on an async request, so idle connections hold no thread.
+ * <p>
+ * Updates get increasing ids and the latest ones are kept in a ring buffer, a
+ * reconnecting client sends the last id it saw as Last-Event-ID and gets the
+ * updates it missed. Publishing, subscribing and replaying run under one lock,
+ * so a client never gets an update twice or out of order. Ids carry the start
+ * time of the process; a client too far behind or coming from an earlier run
+ * gets a "reset" event and reloads instead.
+ * <p>
+ * Nothing is written to a connection under the lock. Every subscriber has a
+ * bounded queue the lock holder only appends to, and one send task at a time
+ * drains it on the send executor, so a client with a stalled connection holds
+ * up no one else. A client whose queue overflows gets a "reset" event and its
+ * stream is closed.
+ */
+@Component
+public class LiveUpdateHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateHub.class);
+
+    static final String RESET_EVENT = "reset";
+
+    private final EventRepository eventRepository;
+    private final TaskExecutor sendExecutor;
+    private final long timeoutMillis;
+    private final int replayCapacity;
+    private final int queueCapacity;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Message> recentMessages = new ArrayDeque<>();
+    private long sequence;
+
+    private final Map<Integer, Set<Subscriber>> subscribersByEvent = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+
+    public LiveUpdateHub(EventRepository eventRepository, MeterRegistry meterRegistry,
+                         @Qualifier(AsyncConfig.LIVE_UPDATE_SEND_EXECUTOR) TaskExecutor sendExecutor,
+                         @Value("${eventsphere.live-updates.timeout}") Duration timeout,
+                         @Value("${eventsphere.live-updates.replay-capacity}") int replayCapacity,
+                         @Value("${eventsphere.live-updates.subscriber-queue-capacity}") int queueCapacity) {
+        this.eventRepository = eventRepository;
+        this.sendExecutor = sendExecutor;
+        this.timeoutMillis = timeout.toMillis();
+        this.replayCapacity = replayCapacity;
+        this.queueCapacity = queueCapacity;
+        Gauge.builder("live.updates.subscribers", subscribersByUser,
+                        subscribers -> subscribers.values().stream().mapToInt(Set::size).sum())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream of the updates of the events the user is enrolled in and of
+     * the notifications sent to the user
+     *
+     * @param lastEventId id of the last update the client received, null on a
+     *                    first connect
+     */
+    public SseEmitter subscribe(int userId, String lastEventId) {
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMillis), queueCapacity);
+        subscriber.eventIds.addAll(eventRepository.findEventIdsByUserId(userId));
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(e -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+        // queued first, so the client sees the stream open once the handler returned
+        enqueue(subscriber, SseEmitter.event().comment("connected"));
+
+        lock.lock();
+        try {
+            register(subscriber);
+            if (lastEventId != null)
+                replay(subscriber, lastEventId);
+        } finally {
+            lock.unlock();
+        }
+        scheduleSend(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Queue an update for its subscribers once the transaction that published it
+     * has committed
+     */
+    @Async(AsyncConfig.LIVE_UPDATE_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(LiveUpdateDto update) {
+        if (update.getType() != LiveUpdateType.NOTIFICATION) {
+            Event event = eventRepository.findById(update.getEventId());
+            if (event == null)
+                return;
+            update = update.withParticipantCount(event.getParticipantCount());
+        }
+
+        List<Subscriber> recipients = new ArrayList<>();
+        lock.lock();
+        try {
+            Message message = new Message(++sequence, update);
+            recentMessages.addLast(message);
+            if (recentMessages.size() > replayCapacity)
+                recentMessages.removeFirst();
+
+            Consumer<Subscriber> queueMessage = s -> {
+                queue(s, message);
+                recipients.add(s);
+            };
+            if (update.getType() == LiveUpdateType.PARTICIPANT_JOINED)
+                forEach(subscribersByUser, update.getUserId(), s -> follow(s, message.update().getEventId()));
+            if (update.getType() == LiveUpdateType.NOTIFICATION && update.getUserId() != 0)
+                forEach(subscribersByUser, update.getUserId(), queueMessage);
+            else
+                forEach(subscribersByEvent, update.getEventId(), queueMessage);
+            if (update.getType() == LiveUpdateType.PARTICIPANT_LEFT)
+                forEach(subscribersByUser, update.getUserId(), s -> unfollow(s, message.update().getEventId()));
+        } finally {
+            lock.unlock();
+        }
+        recipients.forEach(this::scheduleSend);
+    }
+
+    /**
+     * Keep idle connections open through proxies and find the closed ones
+     */
+    @Scheduled(fixedRateString = "${eventsphere.live-updates.heartbeat-interval}")
+    public void sendHeartbeats() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            // a subscriber with updates waiting gets traffic anyway
+            if (subscriber.queue.isEmpty()) {
+                enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+                scheduleSend(subscriber);
+            }
+        }));
+    }
+
+    /**
+     * Queue the updates the subscriber missed, must run under the lock
+     */
+    private void replay(Subscriber subscriber, String lastEventId) {
+        long lastSequence = parseSequence(lastEventId);
+        if (lastSequence < 0 || lastSequence > sequence || lastSequence < sequence - recentMessages.size()) {
+            enqueue(subscriber, resetEvent());
+            return;
+        }
+        for (Message message : recentMessages) {
+            if (message.id() > lastSequence && isRecipient(subscriber, message.update()))
+                queue(subscriber, message);
+        }
+    }
+
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch))
+            return -1;
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private boolean isRecipient(Subscriber subscriber, LiveUpdateDto update) {
+        if (update.getType() == LiveUpdateType.NOTIFICATION && update.getUserId() != 0)
+            return update.getUserId() == subscriber.userId;
+        return subscriber.eventIds.contains(update.getEventId());
+    }
+
+    /**
+     * Queue the message for the subscriber, or mark a subscriber too far behind
+     * for a reset. Must run under the lock.
+     */
+    private void queue(Subscriber subscriber, Message message) {
+        if (subscriber.overflowed)
+            return;
+        if (!subscriber.queue.offer(SseEmitter.event()
+                .id(idOf(message.id()))
+                .name(message.update().getType().getEventName())
+                .data(message.update()))) {
+            subscriber.overflowed = true;
+            subscriber.queue.clear();
+        }
+    }
+
+    private static void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.overflowed)
+            subscriber.queue.offer(event);
+    }
+
+    /**
+     * Start draining the queue of the subscriber unless a send task already does
+     */
+    private void scheduleSend(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true))
+            sendExecutor.execute(() -> send(subscriber));
+    }
+
+    /**
+     * Write the queued events to the connection, the only place that does. A
+     * subscriber that overflowed gets a reset and is closed, it reconnects and
+     * reloads.
+     */
+    private void send(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.overflowed && (event = subscriber.queue.poll()) != null)
+                subscriber.emitter.send(event);
+            if (subscriber.overflowed) {
+                logger.debug("Resetting slow live update subscriber of user {}", subscriber.userId);
+                unsubscribe(subscriber);
+                subscriber.emitter.send(resetEvent());
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping live update subscriber of user {}", subscriber.userId, e);
+            unsubscribe(subscriber);
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // an event queued after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty())
+            scheduleSend(subscriber);
+    }
+
+    private SseEmitter.SseEventBuilder resetEvent() {
+        lock.lock();
+        try {
+            return SseEmitter.event().id(idOf(sequence)).name(RESET_EVENT).data("");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String idOf(long messageSequence) {
+        return epoch + "-" + messageSequence;
+    }
+
+    private void register(Subscriber subscriber) {
+        add(subscribersByUser, subscriber.userId, subscriber);
+        subscriber.eventIds.forEach(eventId -> add(subscribersByEvent, eventId, subscriber));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        lock.lock();
+        try {
+            remove(subscribersByUser, subscriber.userId, subscriber);
+            subscriber.eventIds.forEach(eventId -> remove(subscribersByEvent, eventId, subscriber));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void follow(Subscriber subscriber, int eventId) {
+        subscriber.eventIds.add(eventId);
+        add(subscribersByEvent, eventId, subscriber);
+    }
+
+    private void unfollow(Subscriber subscriber, int eventId) {
+        subscriber.eventIds.remove(eventId);
+        remove(subscribersByEvent, eventId, subscriber);
+    }
+
+    private static void forEach(Map<Integer, Set<Subscriber>> subscribers, int key,
+                                Consumer<Subscriber> action) {
+        Set<Subscriber> found = subscribers.get(key);
+        if (found != null)
+            found.forEach(action);
+    }
+
+    private static void add(Map<Integer, Set<Subscriber>> subscribers, int key, Subscriber subscriber) {
+        subscribers.compute(key, (k, set) -> {
+            Set<Subscriber> result = set == null ? ConcurrentHashMap.newKeySet() : set;
+            result.add(subscriber);
+            return result;
+        });
+    }
+
+    private static void remove(Map<Integer, Set<Subscriber>> subscribers, int key, Subscriber subscriber) {
+        subscribers.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private record Message(long id, LiveUpdateDto update) {
+    }
+
+    /**
+     * One open stream, compared by identity as the followed events change
+     */
+    private static final class Subscriber {
+
+        private final int userId;
+        private final SseEmitter emitter;
+        private final Set<Integer> eventIds = ConcurrentHashMap.newKeySet();
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        private Subscriber(int userId, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.dto.OutboundMessageDto;
+import com.example.eventsphere.service.NotificationSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes every message to the application log instead of sending it
+ */
+public class LogNotificationSender implements NotificationSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogNotificationSender.class);
+
+    @Override
+    public void send(OutboundMessageDto message) {
+        logger.info("Message to {} <{}>: {} - {}", message.getRecipientName(), message.getRecipientEmail(),
+                message.getSubject(), message.getBody());
+    }
+}
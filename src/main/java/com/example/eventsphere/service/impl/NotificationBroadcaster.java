@@ -0,0 +1,146 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.config.AsyncConfig;
+import com.example.eventsphere.constants.BroadcastStatus;
+import com.example.eventsphere.dto.BroadcastJobDto;
+import com.example.eventsphere.dto.LiveUpdateDto;
+import com.example.eventsphere.dto.NotificationDto;
+import com.example.eventsphere.dto.mapper.NotificationMapper;
+import com.example.eventsphere.model.Notification;
+import com.example.eventsphere.repository.EventRepository;
+import com.example.eventsphere.repository.NotificationReceiptRepository;
+import com.example.eventsphere.repository.NotificationRepository;
+import com.example.eventsphere.repository.UnreadNotificationCountRepository;
+import com.example.eventsphere.repository.UserRepository;
+import com.example.eventsphere.service.ContentVersionService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Delivers a notification to every participant of an event. The notification
+ * is stored once and the receipts of all participants are inserted with one
+ * set-based statement, in the background for broadcasts. Job progress is kept
+ * in memory for an hour for the admin UI to poll.
+ */
+@Component
+public class NotificationBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationBroadcaster.class);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationReceiptRepository notificationReceiptRepository;
+    private final UnreadNotificationCountRepository unreadNotificationCountRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentVersionService contentVersionService;
+
+    private final Cache<String, BroadcastJobDto> jobs = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    public NotificationBroadcaster(NotificationRepository notificationRepository,
+                                   NotificationReceiptRepository notificationReceiptRepository,
+                                   UnreadNotificationCountRepository unreadNotificationCountRepository,
+                                   EventRepository eventRepository, UserRepository userRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   ContentVersionService contentVersionService) {
+        this.notificationRepository = notificationRepository;
+        this.notificationReceiptRepository = notificationReceiptRepository;
+        this.unreadNotificationCountRepository = unreadNotificationCountRepository;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.contentVersionService = contentVersionService;
+    }
+
+    public BroadcastJobDto createJob(int eventId) {
+        BroadcastJobDto job = new BroadcastJobDto(UUID.randomUUID().toString(), eventId, BroadcastStatus.QUEUED, 0,
+                0, null);
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    public Optional<BroadcastJobDto> findJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    public void failJob(String jobId, String errorMessage) {
+        jobs.asMap().computeIfPresent(jobId,
+                (id, job) -> job.withStatus(BroadcastStatus.FAILED).withErrorMessage(errorMessage));
+    }
+
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
+    public void broadcast(String jobId, NotificationDto notificationDto) {
+        try {
+            int participants = eventRepository.findById(notificationDto.getEventId()).getParticipantCount();
+            updateJob(jobId, job -> job.withStatus(BroadcastStatus.RUNNING).withTotalRecipients(participants));
+
+            int notified = transactionTemplate.execute(status -> deliverToParticipants(notificationDto));
+
+            updateJob(jobId, job -> job.withStatus(BroadcastStatus.COMPLETED).withNotifiedRecipients(notified));
+        } catch (RuntimeException e) {
+            logger.error("Broadcast {} to event {} failed", jobId, notificationDto.getEventId(), e);
+            failJob(jobId, e.getMessage());
+        }
+    }
+
+    /**
+     * Deliver the notification to the current participants of its event. Sending
+     * the same content again marks it unread for the participants who already got
+     * it. The unread counters are raised first, for every participant without an
+     * unread receipt, as the receipt statements cannot tell which rows they
+     * changed. Must run in a transaction.
+     *
+     * @return number of participants who had not received the notification yet
+     */
+    public int deliverToParticipants(NotificationDto notificationDto) {
+        Notification notification = notificationDto.getUserId() == 0 ? null
+                : notificationRepository.findByNotificationContentAndAuthorIdAndEventId(
+                        notificationDto.getNotificationContent(), notificationDto.getUserId(),
+                        notificationDto.getEventId());
+        boolean resend = notification != null;
+        if (!resend)
+            notification = saveNotification(notificationDto);
+
+        int notificationId = notification.getNotificationId();
+        unreadNotificationCountRepository.incrementForEventParticipants(notificationId, notificationDto.getEventId());
+        if (resend)
+            notificationReceiptRepository.markUnreadForEventParticipants(notificationId);
+        eventPublisher.publishEvent(LiveUpdateDto.notification(notificationDto.getEventId(), 0, notificationId,
+                notification.getNotificationContent()));
+        contentVersionService.notificationsChanged();
+        return notificationReceiptRepository.insertForEventParticipants(notificationId, notificationDto.getEventId());
+    }
+
+    /**
+     * Store the notification without delivering it. Must run in a transaction.
+     */
+    public Notification saveNotification(NotificationDto notificationDto) {
+        Notification notification = NotificationMapper.mapToNotification(notificationDto, new Notification());
+        if (notificationDto.getUserId() != 0)
+            notification.setAuthor(userRepository.getReferenceById(notificationDto.getUserId()));
+        notification.setEvent(eventRepository.getReferenceById(notificationDto.getEventId()));
+        // flush so the set-based receipt insert sees the notification row
+        return notificationRepository.saveAndFlush(notification);
+    }
+
+    private void updateJob(String jobId, UnaryOperator<BroadcastJobDto> update) {
+        jobs.asMap().computeIfPresent(jobId, (id, job) -> update.apply(job));
+    }
+}
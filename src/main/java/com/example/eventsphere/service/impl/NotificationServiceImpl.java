@@ -1,19 +1,32 @@
 package com.example.eventsphere.service.impl;
 
+import com.example.eventsphere.constants.NotificationConstants;
+import com.example.eventsphere.dto.BroadcastJobDto;
+import com.example.eventsphere.dto.CommunicationDto;
+import com.example.eventsphere.dto.LiveUpdateDto;
 import com.example.eventsphere.dto.NotificationDto;
-import com.example.eventsphere.dto.mapper.NotificationMapper;
 import com.example.eventsphere.exception.ResourceNotFoundException;
 import com.example.eventsphere.model.Event;
 import com.example.eventsphere.model.Notification;
-import com.example.eventsphere.model.User;
+import com.example.eventsphere.model.NotificationReceipt;
+import com.example.eventsphere.model.NotificationReceiptId;
+import com.example.eventsphere.model.UnreadNotificationCount;
+import com.example.eventsphere.model.UnreadNotificationCountId;
 import com.example.eventsphere.repository.EventRepository;
+import com.example.eventsphere.repository.NotificationReceiptRepository;
 import com.example.eventsphere.repository.NotificationRepository;
+import com.example.eventsphere.repository.UnreadNotificationCountRepository;
 import com.example.eventsphere.repository.UserRepository;
+import com.example.eventsphere.service.ContentVersionService;
 import com.example.eventsphere.service.NotificationService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @AllArgsConstructor
@@ -22,28 +35,81 @@ public class NotificationServiceImpl implements NotificationService {
     NotificationRepository notificationRepository;
     UserRepository userRepository;
     EventRepository eventRepository;
+    NotificationReceiptRepository notificationReceiptRepository;
+    UnreadNotificationCountRepository unreadNotificationCountRepository;
+    NotificationBroadcaster notificationBroadcaster;
+    ApplicationEventPublisher eventPublisher;
+    ContentVersionService contentVersionService;
 
     /**
-     * Save Notification into DB with notificationDto entity
+     * Save Notification into DB with notificationDto entity and deliver it to
+     * every participant of its event, in the app and through the
+     * NotificationSender
      *
      * @param notificationDto
      */
     @Override
+    @Transactional
     public void createNotification(NotificationDto notificationDto) {
-        User user = userRepository.findById(notificationDto.getUserId()).orElseThrow(
-                () -> new ResourceNotFoundException("User", "id",
-                        String.valueOf(notificationDto.getUserId())));
+        if (!userRepository.existsById(notificationDto.getUserId()))
+            throw new ResourceNotFoundException("User", "id", String.valueOf(notificationDto.getUserId()));
         Event event = eventRepository.findById(notificationDto.getEventId());
-        Notification notification = notificationRepository
-                .findByNotificationContentAndUserAndEvent(notificationDto.getNotificationContent(),
-                        user, event);
-        // todo send comm
-        if (notification == null)
-            notification = NotificationMapper.mapToNotification(notificationDto, new Notification());
-        notification.setRead(false);
-        notification.setUser(user);
-        notification.setEvent(event);
-        Notification savedNotification = notificationRepository.save(notification);
+        if (event == null)
+            throw new ResourceNotFoundException("Event", "id", String.valueOf(notificationDto.getEventId()));
+        notificationBroadcaster.deliverToParticipants(notificationDto);
+        eventPublisher.publishEvent(CommunicationDto.toEventParticipants(event.getEventId(),
+                NotificationConstants.NOTIFICATION_SUBJECT.formatted(event.getEventName()),
+                notificationDto.getNotificationContent()));
+    }
+
+    /**
+     * Save Notification into DB with notificationDto entity and deliver it to a
+     * single user
+     *
+     * @param notificationDto
+     * @param recipientId
+     */
+    @Override
+    @Transactional
+    public void createNotification(NotificationDto notificationDto, int recipientId) {
+        Notification notification = notificationBroadcaster.saveNotification(notificationDto);
+        unreadNotificationCountRepository.increment(recipientId, notificationDto.getEventId());
+        notificationReceiptRepository.insertReceipt(recipientId, notification.getNotificationId(),
+                notificationDto.getEventId());
+        contentVersionService.userChanged(recipientId);
+        eventPublisher.publishEvent(LiveUpdateDto.notification(notificationDto.getEventId(), recipientId,
+                notification.getNotificationId(), notification.getNotificationContent()));
+    }
+
+    /**
+     * Start a broadcast of the notification to the participants of its event
+     *
+     * @param notificationDto
+     * @return job id
+     */
+    @Override
+    public String broadcastNotification(NotificationDto notificationDto) {
+        if (eventRepository.findById(notificationDto.getEventId()) == null)
+            throw new ResourceNotFoundException("Event", "id", String.valueOf(notificationDto.getEventId()));
+
+        BroadcastJobDto job = notificationBroadcaster.createJob(notificationDto.getEventId());
+        try {
+            notificationBroadcaster.broadcast(job.getJobId(), notificationDto);
+        } catch (TaskRejectedException e) {
+            notificationBroadcaster.failJob(job.getJobId(), "Too many broadcasts in progress, please retry later");
+        }
+        return job.getJobId();
+    }
+
+    /**
+     * Find broadcast job progress by jobId
+     *
+     * @param jobId
+     * @return Optional BroadcastJobDto
+     */
+    @Override
+    public Optional<BroadcastJobDto> fetchBroadcastJob(String jobId) {
+        return notificationBroadcaster.findJob(jobId);
     }
 
     /**
@@ -84,10 +150,15 @@ public class NotificationServiceImpl implements NotificationService {
      * @param notificationId
      */
     @Override
+    @Transactional
     public void deleteNotifications(int notificationId) {
-        notificationRepository.delete(notificationRepository.findById(notificationId)
+        Notification notification = notificationRepository.findByNotificationId(notificationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification", "notificationId",
-                        String.valueOf(notificationId))));
+                        String.valueOf(notificationId)));
+        // receipts go with the notification by cascade, their counters do not
+        unreadNotificationCountRepository.decrementForNotification(notificationId);
+        notificationRepository.delete(notification);
+        contentVersionService.notificationsChanged();
     }
 
     /**
@@ -103,14 +174,76 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     /**
-     * Get a list which contains eventId - unread notification count for all
-     * notifications
+     * Get a list which contains eventId - unread notification count pairs of the
+     * user, read from the per-event unread counters
      *
+     * @param userId
      * @return List of eventId - unread notification count pair object
      */
     @Override
     public List<Object[]> findEventIdsWithUnreadNotificationCounts(int userId) {
-        return notificationRepository.findEventIdsWithUnreadNotificationCounts(userId);
+        return unreadNotificationCountRepository.findEventIdsWithUnreadCounts(userId);
+    }
+
+    /**
+     * Get the number of unread notifications of the user for the event
+     *
+     * @param userId
+     * @param eventId
+     * @return unread notification count
+     */
+    @Override
+    public int findUnreadNotificationCount(int userId, int eventId) {
+        return unreadNotificationCountRepository.findById(new UnreadNotificationCountId(userId, eventId))
+                .map(UnreadNotificationCount::getUnreadCount)
+                .orElse(0);
+    }
+
+    /**
+     * Mark a notification delivered to the user as read, the receipt row is
+     * updated first so only one of concurrent calls lowers the counter
+     *
+     * @param userId
+     * @param notificationId
+     */
+    @Override
+    @Transactional
+    public void markNotificationRead(int userId, int notificationId) {
+        NotificationReceipt receipt = notificationReceiptRepository
+                .findById(new NotificationReceiptId(userId, notificationId))
+                .orElseThrow(() -> new ResourceNotFoundException("Notification", "notificationId",
+                        String.valueOf(notificationId)));
+        if (notificationReceiptRepository.markRead(userId, notificationId) == 1) {
+            unreadNotificationCountRepository.decrement(userId, receipt.getEventId());
+            contentVersionService.userChanged(userId);
+        }
+    }
+
+    /**
+     * Mark every notification of the event delivered to the user as read
+     *
+     * @param userId
+     * @param eventId
+     */
+    @Override
+    @Transactional
+    public void markEventNotificationsRead(int userId, int eventId) {
+        notificationReceiptRepository.markReadByUserIdAndEventId(userId, eventId);
+        unreadNotificationCountRepository.reset(userId, eventId);
+        contentVersionService.userChanged(userId);
+    }
+
+    /**
+     * Mark every notification delivered to the user as read
+     *
+     * @param userId
+     */
+    @Override
+    @Transactional
+    public void markAllNotificationsRead(int userId) {
+        notificationReceiptRepository.markReadByUserId(userId);
+        unreadNotificationCountRepository.resetByUserId(userId);
+        contentVersionService.userChanged(userId);
     }
 
 }
\ No newline at end of file
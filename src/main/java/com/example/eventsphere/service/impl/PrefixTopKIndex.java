@@ -0,0 +1,279 @@
+package com.example.eventsphere.service.impl;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index of suggestion texts that returns the k most popular
+ * texts starting with a prefix, or with a word starting with it.
+ * <p>
+ * Every word start of the normalized texts is an entry of one sorted array,
+ * the entries starting with a prefix are one range of it found by two binary
+ * searches. A max segment tree over the entries gives the most popular entry
+ * of any range, so the top k are taken by splitting ranges around their best
+ * entry in O(k log n) however many texts match a short prefix.
+ * <p>
+ * An entry costs two ints in the array and two ints in the tree, 16 bytes,
+ * plus the texts themselves.
+ */
+public final class PrefixTopKIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public static final PrefixTopKIndex EMPTY = build(new String[0], new int[0]);
+
+    private final String[] texts;
+    private final String[] keys;
+    private final int[] popularity;
+    private final int[] entryText;
+    private final int[] entryOffset;
+    private final int[] tree;
+
+    private PrefixTopKIndex(String[] texts, String[] keys, int[] popularity, int[] entryText, int[] entryOffset) {
+        this.texts = texts;
+        this.keys = keys;
+        this.popularity = popularity;
+        this.entryText = entryText;
+        this.entryOffset = entryOffset;
+        this.tree = buildTree();
+    }
+
+    /**
+     * @param texts      distinct suggestion texts in natural order
+     * @param popularity popularity of each text
+     */
+    public static PrefixTopKIndex build(String[] texts, int[] popularity) {
+        if (texts.length != popularity.length)
+            throw new IllegalArgumentException("One popularity per text expected");
+        String[] keys = new String[texts.length];
+        int entryCount = 0;
+        for (int i = 0; i < texts.length; i++) {
+            keys[i] = normalize(texts[i]);
+            entryCount += wordStarts(keys[i], null);
+        }
+
+        int[] entryText = new int[entryCount];
+        int[] entryOffset = new int[entryCount];
+        int entry = 0;
+        int[] offsets = new int[16];
+        for (int i = 0; i < keys.length; i++) {
+            if (offsets.length < keys[i].length() + 1)
+                offsets = new int[keys[i].length() + 1];
+            int count = wordStarts(keys[i], offsets);
+            for (int j = 0; j < count; j++, entry++) {
+                entryText[entry] = i;
+                entryOffset[entry] = offsets[j];
+            }
+        }
+
+        Integer[] order = new Integer[entryCount];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> compareSuffixes(keys[entryText[a]], entryOffset[a], keys[entryText[b]],
+                entryOffset[b]));
+        int[] sortedText = new int[entryCount];
+        int[] sortedOffset = new int[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            sortedText[i] = entryText[order[i]];
+            sortedOffset[i] = entryOffset[order[i]];
+        }
+        return new PrefixTopKIndex(texts, keys, popularity.clone(), sortedText, sortedOffset);
+    }
+
+    /**
+     * Same texts with other popularities, the sorted entries are shared
+     *
+     * @param popularity popularity of each text, by position
+     */
+    public PrefixTopKIndex withPopularity(int[] popularity) {
+        if (texts.length != popularity.length)
+            throw new IllegalArgumentException("One popularity per text expected");
+        return new PrefixTopKIndex(texts, keys, popularity.clone(), entryText, entryOffset);
+    }
+
+    /**
+     * Most popular texts with a word starting with the prefix, ignoring case and
+     * accents; equally popular texts in the order of the matching words
+     *
+     * @return positions of at most k texts, most popular first
+     */
+    public int[] top(String prefix, int k) {
+        String key = normalize(prefix).strip();
+        if (key.isEmpty() || k <= 0 || entryText.length == 0)
+            return new int[0];
+        int from = lowerBound(key, false);
+        int to = lowerBound(key, true);
+        if (from == to)
+            return new int[0];
+
+        int[] result = new int[k];
+        int found = 0;
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> compareEntries(a[2], b[2]));
+        ranges.add(new int[] { from, to, best(from, to) });
+        while (found < k && !ranges.isEmpty()) {
+            int[] range = ranges.poll();
+            int entry = range[2];
+            int text = entryText[entry];
+            if (!contains(result, found, text))
+                result[found++] = text;
+            if (range[0] < entry)
+                ranges.add(new int[] { range[0], entry, best(range[0], entry) });
+            if (entry + 1 < range[1])
+                ranges.add(new int[] { entry + 1, range[1], best(entry + 1, range[1]) });
+        }
+        return found == k ? result : Arrays.copyOf(result, found);
+    }
+
+    /**
+     * @return position of the text, negative if it is not indexed
+     */
+    public int indexOf(String text) {
+        return Arrays.binarySearch(texts, text);
+    }
+
+    public String text(int position) {
+        return texts[position];
+    }
+
+    public int popularity(int position) {
+        return popularity[position];
+    }
+
+    /**
+     * @return copy of the popularity of each text, by position
+     */
+    public int[] popularities() {
+        return popularity.clone();
+    }
+
+    public int size() {
+        return texts.length;
+    }
+
+    public int entryCount() {
+        return entryText.length;
+    }
+
+    static String normalize(String text) {
+        String withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("");
+        return WHITESPACE.matcher(withoutAccents).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Start of the key and of every word in it
+     *
+     * @param offsets receives the offsets if not null
+     * @return number of offsets
+     */
+    private static int wordStarts(String key, int[] offsets) {
+        int count = 0;
+        for (int i = 0; i < key.length(); i++) {
+            if (i == 0 || Character.isLetterOrDigit(key.charAt(i))
+                    && !Character.isLetterOrDigit(key.charAt(i - 1))) {
+                if (offsets != null)
+                    offsets[count] = i;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int compareSuffixes(String a, int aOffset, String b, int bOffset) {
+        int length = Math.min(a.length() - aOffset, b.length() - bOffset);
+        for (int i = 0; i < length; i++) {
+            int difference = a.charAt(aOffset + i) - b.charAt(bOffset + i);
+            if (difference != 0)
+                return difference;
+        }
+        return (a.length() - aOffset) - (b.length() - bOffset);
+    }
+
+    /**
+     * First entry not below the prefix, or with afterPrefix the first entry
+     * neither below nor starting with it
+     */
+    private int lowerBound(String prefix, boolean afterPrefix) {
+        int low = 0;
+        int high = entryText.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = comparePrefix(middle, prefix);
+            if (comparison < 0 || afterPrefix && comparison == 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * @return 0 if the entry starts with the prefix, else the order of the entry
+     *         against the prefix
+     */
+    private int comparePrefix(int entry, String prefix) {
+        String key = keys[entryText[entry]];
+        int offset = entryOffset[entry];
+        int length = Math.min(key.length() - offset, prefix.length());
+        for (int i = 0; i < length; i++) {
+            int difference = key.charAt(offset + i) - prefix.charAt(i);
+            if (difference != 0)
+                return difference;
+        }
+        return key.length() - offset < prefix.length() ? -1 : 0;
+    }
+
+    /**
+     * Bottom-up segment tree, the leaves at n + i hold entry i and every inner
+     * node the better entry of its two children
+     */
+    private int[] buildTree() {
+        int n = entryText.length;
+        int[] nodes = new int[2 * n];
+        for (int i = 0; i < n; i++)
+            nodes[n + i] = i;
+        for (int i = n - 1; i > 0; i--)
+            nodes[i] = better(nodes[2 * i], nodes[2 * i + 1]);
+        return nodes;
+    }
+
+    /**
+     * @return most popular entry in [from, to)
+     */
+    private int best(int from, int to) {
+        int n = entryText.length;
+        int result = -1;
+        for (from += n, to += n; from < to; from >>= 1, to >>= 1) {
+            if ((from & 1) == 1)
+                result = better(result, tree[from++]);
+            if ((to & 1) == 1)
+                result = better(result, tree[--to]);
+        }
+        return result;
+    }
+
+    private int better(int a, int b) {
+        if (a < 0)
+            return b;
+        return compareEntries(a, b) <= 0 ? a : b;
+    }
+
+    /**
+     * More popular first, then in entry order
+     */
+    private int compareEntries(int a, int b) {
+        int comparison = Integer.compare(popularity[entryText[b]], popularity[entryText[a]]);
+        return comparison != 0 ? comparison : Integer.compare(a, b);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value)
+                return true;
+        }
+        return false;
+    }
+}
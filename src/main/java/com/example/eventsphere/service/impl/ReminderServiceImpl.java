@@ -0,0 +1,188 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.constants.NotificationConstants;
+import com.example.eventsphere.dto.CommunicationDto;
+import com.example.eventsphere.dto.EventChangeDto;
+import com.example.eventsphere.dto.NotificationDto;
+import com.example.eventsphere.model.Event;
+import com.example.eventsphere.model.EventReminder;
+import com.example.eventsphere.repository.EventReminderRepository;
+import com.example.eventsphere.repository.EventRepository;
+import com.example.eventsphere.service.ReminderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reminders are rows of a due-queue written when an event is saved, so a run
+ * reads only the due ones through the (sent_at, due_at) index instead of
+ * scanning the events. A node locks a batch of due rows with SKIP LOCKED,
+ * writes its lease on them and commits, then sends each reminder in its own
+ * transaction that first marks it sent under the lease. The rows of a node
+ * that died are claimed again once the lease expired.
+ * <p>
+ * Events only carry a date, the reminders count back from the configured
+ * start time of the day.
+ */
+@Service
+public class ReminderServiceImpl implements ReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderServiceImpl.class);
+
+    private final EventReminderRepository eventReminderRepository;
+    private final EventRepository eventRepository;
+    private final NotificationBroadcaster notificationBroadcaster;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Duration> offsets;
+    private final LocalTime eventStartTime;
+    private final int batchSize;
+    private final Duration lease;
+
+    public ReminderServiceImpl(EventReminderRepository eventReminderRepository, EventRepository eventRepository,
+                               NotificationBroadcaster notificationBroadcaster,
+                               ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                               @Value("${eventsphere.reminders.offsets}") List<Duration> offsets,
+                               @Value("${eventsphere.reminders.event-start-time}") String eventStartTime,
+                               @Value("${eventsphere.reminders.batch-size}") int batchSize,
+                               @Value("${eventsphere.reminders.lease}") Duration lease) {
+        this.eventReminderRepository = eventReminderRepository;
+        this.eventRepository = eventRepository;
+        this.notificationBroadcaster = notificationBroadcaster;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.offsets = List.copyOf(offsets);
+        this.eventStartTime = LocalTime.parse(eventStartTime);
+        this.batchSize = batchSize;
+        this.lease = lease;
+    }
+
+    @Override
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public int scheduleUpcomingReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        int startMinutes = eventStartTime.toSecondOfDay() / 60;
+        int scheduled = 0;
+        for (Duration offset : offsets) {
+            scheduled += eventReminderRepository.insertForUpcomingEvents((int) offset.toMinutes(), startMinutes,
+                    now.toLocalDate(), now);
+        }
+        logger.info("Scheduled {} event reminders", scheduled);
+        return scheduled;
+    }
+
+    /**
+     * Runs in the transaction that saved the event, so the reminders never
+     * disagree with a committed date
+     */
+    @EventListener
+    public void onEventChange(EventChangeDto change) {
+        if (!change.isDeleted())
+            rescheduleReminders(change.getEventId());
+    }
+
+    @Override
+    @Transactional
+    public void rescheduleReminders(int eventId) {
+        Event event = eventRepository.findById(eventId);
+        if (event == null || event.getEventDate() == null)
+            return;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = startOf(event.getEventDate());
+        for (Duration offset : offsets) {
+            int offsetMinutes = (int) offset.toMinutes();
+            LocalDateTime dueAt = start.minus(offset);
+            if (!dueAt.isAfter(now))
+                eventReminderRepository.deleteUnsent(eventId, offsetMinutes, dueAt);
+            else if (eventReminderRepository.reschedule(eventId, offsetMinutes, dueAt) == 0)
+                eventReminderRepository.insertReminder(eventId, offsetMinutes, dueAt);
+        }
+    }
+
+    @Override
+    public int dispatchDueReminders() {
+        int sent = 0;
+        List<EventReminder> claimed;
+        do {
+            claimed = claimDueReminders(LocalDateTime.now(), batchSize);
+            for (EventReminder reminder : claimed) {
+                if (send(reminder))
+                    sent++;
+            }
+        } while (claimed.size() == batchSize);
+        return sent;
+    }
+
+    /**
+     * Lease up to limit due reminders to a new owner token and commit, the rows
+     * stay locked only for this short transaction
+     *
+     * @return claimed reminders with their events
+     */
+    List<EventReminder> claimDueReminders(LocalDateTime now, int limit) {
+        return transactionTemplate.execute(status -> {
+            List<Integer> reminderIds = eventReminderRepository.lockDueReminderIds(now, limit);
+            if (reminderIds.isEmpty())
+                return List.of();
+            String leaseOwner = UUID.randomUUID().toString();
+            eventReminderRepository.lease(reminderIds, leaseOwner, now.plus(lease));
+            return eventReminderRepository.findByLeaseOwner(leaseOwner);
+        });
+    }
+
+    /**
+     * @return true if the reminder was delivered, false if another node took it
+     *         over, it was rescheduled meanwhile or its event has started
+     */
+    private boolean send(EventReminder reminder) {
+        try {
+            return transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (eventReminderRepository.markSent(reminder.getReminderId(), reminder.getLeaseOwner(), now) == 0)
+                    return false;
+                Event event = reminder.getEvent();
+                if (!startOf(event.getEventDate()).isAfter(now))
+                    return false;
+
+                String content = NotificationConstants.REMINDER_CONTENT.formatted(event.getEventName(),
+                        describe(Duration.ofMinutes(reminder.getOffsetMinutes())), event.getEventDate(),
+                        event.getEventLocation());
+                NotificationDto notificationDto = new NotificationDto();
+                notificationDto.setEventId(event.getEventId());
+                notificationDto.setNotificationContent(content);
+                notificationBroadcaster.deliverToParticipants(notificationDto);
+                eventPublisher.publishEvent(CommunicationDto.toEventParticipants(event.getEventId(),
+                        NotificationConstants.REMINDER_SUBJECT.formatted(event.getEventName()), content));
+                return true;
+            });
+        } catch (RuntimeException e) {
+            // the lease expires and another run retries it
+            logger.warn("Sending reminder {} failed", reminder.getReminderId(), e);
+            return false;
+        }
+    }
+
+    private LocalDateTime startOf(LocalDate eventDate) {
+        return eventDate.atTime(eventStartTime);
+    }
+
+    private static String describe(Duration offset) {
+        if (offset.toMinutesPart() != 0)
+            return offset.toMinutes() == 1 ? "1 minute" : offset.toMinutes() + " minutes";
+        return offset.toHours() == 1 ? "1 hour" : offset.toHours() + " hours";
+    }
+}
@@ -1,19 +1,31 @@
 package com.example.eventsphere.service.impl;
 
+import com.example.eventsphere.config.EventSpherePrincipal;
 import com.example.eventsphere.constants.EventManagementSystemConstants;
+import com.example.eventsphere.constants.UserConstants;
+import com.example.eventsphere.dto.CommunicationDto;
+import com.example.eventsphere.dto.UserAccountDto;
 import com.example.eventsphere.dto.UserDto;
 import com.example.eventsphere.dto.mapper.UserMapper;
 import com.example.eventsphere.exception.ResourceNotFoundException;
 import com.example.eventsphere.model.Event;
 import com.example.eventsphere.model.Role;
 import com.example.eventsphere.model.User;
+import com.example.eventsphere.model.WaitlistEntry;
 import com.example.eventsphere.repository.RoleRepository;
 import com.example.eventsphere.repository.UserRepository;
+import com.example.eventsphere.repository.WaitlistRepository;
 import com.example.eventsphere.service.UserService;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
@@ -29,6 +41,14 @@ public class UserServiceImpl implements UserService {
 
     private PasswordEncoder passwordEncoder;
 
+    private ApplicationEventPublisher eventPublisher;
+
+    private CacheManager cacheManager;
+
+    private WaitlistRepository waitlistRepository;
+
+    private WaitlistRanks waitlistRanks;
+
     /**
      * Save user into db
      *
@@ -38,13 +58,11 @@ public class UserServiceImpl implements UserService {
     @Override
     public boolean createUser(User user) {
 
-        Optional<User> optionalUser = userRepository.findByEmail(user.getEmail());
-        if (optionalUser.isPresent()) {
+        if (userRepository.findAccountByEmail(user.getEmail()).isPresent()) {
             // throw new DataAlreadyExistsException("User already exists with given email "
             // + userDto.getEmail());
             return false;
         }
-        // todo send comm
         Role userRole = roleRepository.getByRoleName(EventManagementSystemConstants.USER_ROLE);
         // Role adminRole =
         // roleRepository.getByRoleName(EventManagementSystemConstants.ADMIN_ROLE);
@@ -55,7 +73,8 @@ public class UserServiceImpl implements UserService {
         user.setPwd(passwordEncoder.encode(user.getPwd()));
 
         User savedUser = userRepository.save(user);
-
+        eventPublisher.publishEvent(CommunicationDto.toUser(savedUser.getUserId(), UserConstants.WELCOME_SUBJECT,
+                UserConstants.WELCOME_BODY.formatted(savedUser.getUsername())));
         return true;
     }
 
@@ -68,10 +87,10 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDto fetchUser(String email) {
 
-        User user = userRepository.findByEmail(email)
+        UserAccountDto account = userRepository.findAccountByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
 
-        UserDto userDto = UserMapper.mapToUserDto(user, new UserDto());
+        UserDto userDto = UserMapper.mapToUserDto(account, new UserDto());
 
         return userDto;
     }
@@ -83,9 +102,11 @@ public class UserServiceImpl implements UserService {
      * @return boolean
      */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = UserConstants.USERS_BY_EMAIL_CACHE, key = "#userDto.email")
     public boolean updateUser(UserDto userDto) {
 
-        User user = userRepository.findByEmail(userDto.getEmail())
+        User user = Optional.ofNullable(userRepository.readByEmail(userDto.getEmail()))
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", userDto.getEmail()));
         UserMapper.mapToUser(userDto, user);
 
@@ -94,6 +115,21 @@ public class UserServiceImpl implements UserService {
         return true;
     }
 
+    /**
+     * Upgrade password hash by email
+     *
+     * @param email
+     * @param currentPwd
+     * @param upgradedPwd
+     * @return boolean
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = UserConstants.USERS_BY_EMAIL_CACHE, key = "#email")
+    public boolean upgradePassword(String email, String currentPwd, String upgradedPwd) {
+        return userRepository.updatePwd(email, currentPwd, upgradedPwd) > 0;
+    }
+
     /**
      * Delete user by email
      *
@@ -101,12 +137,19 @@ public class UserServiceImpl implements UserService {
      * @return boolean
      */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = UserConstants.USERS_BY_EMAIL_CACHE, key = "#email")
     public boolean deleteUser(String email) {
 
-        User user = userRepository.findByEmail(email)
+        User user = Optional.ofNullable(userRepository.readByEmail(email))
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
 
+        // the waitlist entries go by cascade, their tickets must leave the ranks first
+        for (WaitlistEntry entry : waitlistRepository.findByUserId(user.getUserId()))
+            waitlistRanks.remove(entry.getEvent().getEventId(), entry.getTicket());
         userRepository.delete(user);
+        // the caches are transaction aware, the entry goes once the delete committed
+        cacheManager.getCache(UserConstants.ROLES_BY_USER_ID_CACHE).evict(user.getUserId());
 
         return true;
     }
@@ -119,14 +162,10 @@ public class UserServiceImpl implements UserService {
     @Override
     public boolean isAdmin() {
 
-        User user = userRepository.readByEmail(SecurityContextHolder.getContext().getAuthentication().getName());
-
-        for (Role role : userRepository.findRolesByUserId(user.getUserId())) {
-            if (role.getRoleName().equals(EventManagementSystemConstants.ADMIN_ROLE))
-                return true;
-        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        return false;
+        return authentication != null && authentication.getPrincipal() instanceof EventSpherePrincipal principal
+                && principal.isAdmin();
     }
 
     /**
@@ -146,6 +185,9 @@ public class UserServiceImpl implements UserService {
      * @param user
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = UserConstants.USERS_BY_EMAIL_CACHE, key = "#user.email"),
+            @CacheEvict(cacheNames = UserConstants.ROLES_BY_USER_ID_CACHE, key = "#user.userId") })
     public void updateUser(User user) {
         userRepository.save(user);
     }
@@ -0,0 +1,86 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.repository.WaitlistRankRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Positions on the waitlists of events, kept in a Fenwick tree per event whose
+ * node i counts the users waiting with a ticket in [i, i + lowbit(i)). A ticket
+ * is counted on the nodes covering it and the number of users waiting from a
+ * ticket on is summed over the nodes reached by adding lowbit, so counting,
+ * removing and ranking a ticket each touch O(log n) nodes.
+ * <p>
+ * Tickets are counted while the event row is locked by drawing them, and the
+ * nodes are always written in ascending order, so concurrent joins and leaves
+ * of the same event do not deadlock.
+ */
+@Component
+public class WaitlistRanks {
+
+    // far above any ticket an event will draw, nodes beyond the last ticket are never written
+    private static final long MAX_TICKET = 1L << 40;
+    // never a node, keeps the IN lists of a query non-empty
+    private static final long NO_NODE = 0;
+
+    private final WaitlistRankRepository waitlistRankRepository;
+
+    public WaitlistRanks(WaitlistRankRepository waitlistRankRepository) {
+        this.waitlistRankRepository = waitlistRankRepository;
+    }
+
+    /**
+     * Count the ticket of a user who joined the waitlist
+     */
+    public void add(int eventId, long ticket) {
+        for (long node : coveringNodes(ticket))
+            waitlistRankRepository.increment(eventId, node);
+    }
+
+    /**
+     * Take the ticket of a user who left or was promoted off the waitlist
+     */
+    public void remove(int eventId, long ticket) {
+        waitlistRankRepository.decrement(eventId, coveringNodes(ticket));
+    }
+
+    /**
+     * @return 1 based position of the ticket, the number of users waiting from
+     *         the first ticket on minus those waiting after this ticket
+     */
+    public long position(int eventId, long ticket) {
+        Set<Long> all = suffixNodes(1);
+        Set<Long> after = suffixNodes(ticket + 1);
+        // the nodes both sums share cancel out
+        Set<Long> added = new LinkedHashSet<>(all);
+        added.removeAll(after);
+        after.removeAll(all);
+        added.add(NO_NODE);
+        after.add(NO_NODE);
+        return waitlistRankRepository.sumNodes(eventId, added, after);
+    }
+
+    /**
+     * @return nodes whose range holds the ticket, ascending
+     */
+    static List<Long> coveringNodes(long ticket) {
+        List<Long> nodes = new ArrayList<>();
+        for (long node = ticket; node > 0; node -= Long.lowestOneBit(node))
+            nodes.add(0, node);
+        return nodes;
+    }
+
+    /**
+     * @return nodes whose ranges together hold every ticket from the given one on
+     */
+    static Set<Long> suffixNodes(long ticket) {
+        Set<Long> nodes = new LinkedHashSet<>();
+        for (long node = ticket; node <= MAX_TICKET; node += Long.lowestOneBit(node))
+            nodes.add(node);
+        return nodes;
+    }
+}
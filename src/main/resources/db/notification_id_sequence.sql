@@ -0,0 +1,13 @@
+-- Notification ids moved from AUTO_INCREMENT to the pooled notification_seq
+-- sequence (allocation size 50), which Hibernate keeps in a table on MySQL.
+-- Run once before deploying that version: it creates the table already past
+-- the existing ids, otherwise the first ids handed out would collide with
+-- existing rows.
+CREATE TABLE IF NOT EXISTS notification_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+DELETE FROM notification_seq;
+
+INSERT INTO notification_seq (next_val)
+SELECT COALESCE(MAX(notification_id), 0) + 51 FROM notification;
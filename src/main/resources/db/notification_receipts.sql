@@ -0,0 +1,45 @@
+-- Moves the per-row recipient and read state of notifications into one
+-- notification_receipt row per recipient. Run once on MySQL before starting
+-- the version that maps NotificationReceipt.
+--
+-- Every existing row was written by its author in user_id and shown to every
+-- participant of its event. Each row is kept as a message of its own, with the
+-- writer as author and one receipt per current participant, so no two rows
+-- are merged however alike their content.
+
+CREATE TABLE IF NOT EXISTS notification_receipt (
+    user_id         INT NOT NULL,
+    notification_id INT NOT NULL,
+    event_id        INT NOT NULL,
+    is_read         BIT NOT NULL,
+    PRIMARY KEY (user_id, notification_id),
+    CONSTRAINT fk_notification_receipt_user FOREIGN KEY (user_id) REFERENCES user (user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_notification_receipt_notification FOREIGN KEY (notification_id)
+        REFERENCES notification (notification_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+ALTER TABLE notification ADD COLUMN author_id INT NULL;
+
+UPDATE notification SET author_id = user_id;
+
+INSERT IGNORE INTO notification_receipt (user_id, notification_id, event_id, is_read)
+SELECT eu.user_id, n.notification_id, n.event_id, n.is_read
+FROM notification n
+JOIN event_user eu ON eu.event_id = n.event_id;
+
+-- finally drop the per-recipient columns, the foreign key of user_id first;
+-- Hibernate generated its name, so it is looked up
+SET @user_fk = (SELECT constraint_name
+                FROM information_schema.key_column_usage
+                WHERE table_schema = DATABASE()
+                  AND table_name = 'notification'
+                  AND column_name = 'user_id'
+                  AND referenced_table_name IS NOT NULL
+                LIMIT 1);
+SET @drop_user_fk = IF(@user_fk IS NULL, 'DO 0',
+                       CONCAT('ALTER TABLE notification DROP FOREIGN KEY `', @user_fk, '`'));
+PREPARE drop_user_fk FROM @drop_user_fk;
+EXECUTE drop_user_fk;
+DEALLOCATE PREPARE drop_user_fk;
+
+ALTER TABLE notification DROP COLUMN user_id, DROP COLUMN is_read;
@@ -0,0 +1,22 @@
+-- Unread notification counters per user and event, run once on databases
+-- created before the counters were introduced (after notification_receipts.sql).
+-- ddl-auto=update creates the table but not the covering index of existing
+-- tables, and leaves the counters empty.
+
+CREATE INDEX idx_notification_receipt_user_event_read ON notification_receipt (user_id, event_id, is_read);
+
+CREATE TABLE IF NOT EXISTS notification_unread_count (
+    user_id      INT NOT NULL,
+    event_id     INT NOT NULL,
+    unread_count INT NOT NULL,
+    PRIMARY KEY (user_id, event_id),
+    FOREIGN KEY (user_id) REFERENCES user (user_id) ON DELETE CASCADE,
+    FOREIGN KEY (event_id) REFERENCES event (event_id) ON DELETE CASCADE
+);
+
+INSERT INTO notification_unread_count (user_id, event_id, unread_count)
+SELECT r.user_id, r.event_id, COUNT(*)
+FROM notification_receipt r
+WHERE r.is_read = FALSE
+GROUP BY r.user_id, r.event_id
+ON DUPLICATE KEY UPDATE unread_count = VALUES(unread_count);
@@ -0,0 +1,21 @@
+-- Fenwick tree nodes of the waitlist positions, run once on databases with
+-- waitlists created before the ranks were introduced. ddl-auto=update creates
+-- the table but leaves it empty. Every ticket is counted on the nodes covering
+-- it, found by clearing its lowest set bit until none is left.
+
+CREATE TABLE IF NOT EXISTS event_waitlist_rank (
+    event_id INT    NOT NULL,
+    node     BIGINT NOT NULL,
+    waiting  INT    NOT NULL,
+    PRIMARY KEY (event_id, node),
+    FOREIGN KEY (event_id) REFERENCES event (event_id) ON DELETE CASCADE
+);
+
+INSERT INTO event_waitlist_rank (event_id, node, waiting)
+WITH RECURSIVE covering (event_id, node) AS (
+    SELECT w.event_id, w.ticket FROM event_waitlist w
+    UNION ALL
+    SELECT c.event_id, c.node - (c.node & -c.node) FROM covering c WHERE c.node - (c.node & -c.node) > 0
+)
+SELECT c.event_id, c.node, COUNT(*) FROM covering c GROUP BY c.event_id, c.node
+ON DUPLICATE KEY UPDATE waiting = VALUES(waiting);
@@ -0,0 +1,30 @@
+package com.example.eventsphere;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread, registered for
+ * every test context in application-test.yml. Unlike the session factory
+ * statistics, the count of a test thread is not disturbed by listeners and
+ * scheduled jobs running at the same time.
+ */
+public class ThreadStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return number of statements prepared on the calling thread while running
+     *         the action
+     */
+    public static long count(Runnable action) {
+        long before = COUNT.get()[0];
+        action.run();
+        return COUNT.get()[0] - before;
+    }
+}
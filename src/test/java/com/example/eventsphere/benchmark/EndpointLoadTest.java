@@ -0,0 +1,222 @@
+package com.example.eventsphere.benchmark;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load test of login, /displayEvents and /joinEvent against a
+ * running instance: every simulated user sends its next request as soon as
+ * the previous one returned, and the throughput and latency percentiles of
+ * each scenario are printed. To compare platform and virtual threads, start
+ * the application once without and once with the virtual profile and run the
+ * same command against both
+ *
+ * <pre>
+ * mvn -P java21 package -DskipTests
+ * java -jar target/EventSphere-0.0.1-SNAPSHOT.jar [--spring.profiles.active=virtual]
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.eventsphere.benchmark.EndpointLoadTest \
+ *     --base-url=http://localhost:8080 --users=200 --duration=60 --event-id=1 --label=virtual
+ * </pre>
+ *
+ * The users loadtest-N@example.com are registered on the first run. The event
+ * should have no capacity limit, or joins end up on the waitlist.
+ */
+public class EndpointLoadTest {
+
+    private static final String PASSWORD = "LoadTest-1";
+    private static final Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private final String baseUrl;
+    private final int users;
+    private final Duration duration;
+    private final int eventId;
+
+    public EndpointLoadTest(String baseUrl, int users, Duration duration, int eventId) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.duration = duration;
+        this.eventId = eventId;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        Arrays.stream(args).map(arg -> arg.replaceFirst("^--", "").split("=", 2))
+                .forEach(option -> options.put(option[0], option.length > 1 ? option[1] : "true"));
+
+        EndpointLoadTest loadTest = new EndpointLoadTest(options.getOrDefault("base-url", "http://localhost:8080"),
+                Integer.parseInt(options.getOrDefault("users", "100")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))),
+                Integer.parseInt(options.getOrDefault("event-id", "1")));
+        String label = options.getOrDefault("label", "run");
+
+        List<HttpClient> sessions = loadTest.registerAndLogin();
+        System.out.printf("%-10s %-14s %9s %7s %10s %9s %9s %9s%n", "label", "scenario", "requests", "errors",
+                "req/s", "p50 ms", "p99 ms", "max ms");
+        loadTest.run("login", sessions, (client, user) -> loadTest.login(newClient(), user)).print(label);
+        loadTest.run("displayEvents", sessions, (client, user) -> loadTest.get(client, "/displayEvents"))
+                .print(label);
+        loadTest.run("joinEvent", sessions, (client, user) -> {
+            int status = loadTest.get(client, "/joinEvent?eventId=" + loadTest.eventId);
+            loadTest.get(client, "/leaveEvent?eventId=" + loadTest.eventId);
+            return status;
+        }).print(label);
+    }
+
+    /**
+     * Register the test users if needed and log every one of them in
+     *
+     * @return one logged in client per user
+     */
+    private List<HttpClient> registerAndLogin() throws IOException, InterruptedException {
+        List<HttpClient> sessions = new ArrayList<>();
+        for (int user = 0; user < users; user++) {
+            HttpClient client = newClient();
+            String csrfToken = csrfToken(client, "/public/register");
+            post(client, "/public/createUser", Map.of("_csrf", csrfToken, "username", "loadtest" + user,
+                    "email", email(user), "confirmEmail", email(user), "pwd", PASSWORD, "confirmPwd", PASSWORD));
+            if (login(client, user) != 302)
+                throw new IllegalStateException("Login of " + email(user) + " failed");
+            sessions.add(client);
+        }
+        return sessions;
+    }
+
+    private Result run(String scenario, List<HttpClient> sessions, Request request) throws InterruptedException {
+        List<long[]> latencies = new ArrayList<>();
+        AtomicInteger errors = new AtomicInteger();
+        long end = System.nanoTime() + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        for (int user = 0; user < users; user++) {
+            int currentUser = user;
+            long[] userLatencies = new long[1 << 16];
+            latencies.add(userLatencies);
+            workers.execute(() -> {
+                int count = 0;
+                while (System.nanoTime() < end && count < userLatencies.length - 1) {
+                    long start = System.nanoTime();
+                    try {
+                        int status = request.send(sessions.get(currentUser), currentUser);
+                        if (status >= 400)
+                            errors.incrementAndGet();
+                    } catch (IOException | RuntimeException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    userLatencies[++count] = System.nanoTime() - start;
+                }
+                userLatencies[0] = count;
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+
+        long[] all = latencies.stream()
+                .flatMapToLong(userLatencies -> Arrays.stream(userLatencies, 1, (int) userLatencies[0] + 1))
+                .sorted()
+                .toArray();
+        return new Result(scenario, all, errors.get(), duration);
+    }
+
+    private int login(HttpClient client, int user) throws IOException, InterruptedException {
+        String csrfToken = csrfToken(client, "/login");
+        return post(client, "/login", Map.of("_csrf", csrfToken, "username", email(user), "password", PASSWORD));
+    }
+
+    private int get(HttpClient client, String path) throws IOException, InterruptedException {
+        return statusOf(client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private int post(HttpClient client, String path, Map<String, String> form)
+            throws IOException, InterruptedException {
+        StringBuilder body = new StringBuilder();
+        form.forEach((name, value) -> body.append(body.length() == 0 ? "" : "&")
+                .append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return statusOf(client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding()));
+    }
+
+    /**
+     * Redirects to the login page are failed logins or lost sessions, they count
+     * as 401
+     */
+    private static int statusOf(HttpResponse<?> response) {
+        boolean toLogin = response.headers().firstValue("Location")
+                .filter(location -> location.contains("/login"))
+                .isPresent();
+        return toLogin ? 401 : response.statusCode();
+    }
+
+    private String csrfToken(HttpClient client, String path) throws IOException, InterruptedException {
+        String page = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = CSRF_TOKEN.matcher(page);
+        if (!matcher.find())
+            throw new IllegalStateException("No CSRF token on " + path);
+        return matcher.group(1);
+    }
+
+    private static HttpClient newClient() {
+        return HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    private static String email(int user) {
+        return "loadtest-" + user + "@example.com";
+    }
+
+    @FunctionalInterface
+    private interface Request {
+
+        /**
+         * @return HTTP status of the measured request
+         */
+        int send(HttpClient session, int user) throws IOException, InterruptedException;
+    }
+
+    private record Result(String scenario, long[] sortedLatencies, int errors, Duration duration) {
+
+        void print(String label) {
+            int requests = sortedLatencies.length;
+            System.out.printf("%-10s %-14s %9d %7d %10.1f %9.1f %9.1f %9.1f%n", label, scenario, requests, errors,
+                    requests / (double) duration.toSeconds(), percentile(0.50), percentile(0.99),
+                    requests == 0 ? 0 : sortedLatencies[requests - 1] / 1e6);
+        }
+
+        private double percentile(double percentile) {
+            if (sortedLatencies.length == 0)
+                return 0;
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
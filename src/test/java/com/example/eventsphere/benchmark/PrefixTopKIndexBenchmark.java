@@ -0,0 +1,129 @@
+package com.example.eventsphere.benchmark;
+
+import com.example.eventsphere.service.impl.PrefixTopKIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one typeahead lookup for prefixes of one to four letters, the
+ * short ones match a large part of the texts, and the heap the index retains,
+ * printed per 1M texts when the index is built. Run it with
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.eventsphere.benchmark.PrefixTopKIndexBenchmark
+ * </pre>
+ *
+ * The texts are made of three random words of a 5000 word vocabulary, like
+ * event names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class PrefixTopKIndexBenchmark {
+
+    private static final int VOCABULARY = 5000;
+    private static final int PREFIXES = 1024;
+
+    @Param({ "100000", "1000000" })
+    public int texts;
+
+    @Param({ "10" })
+    public int k;
+
+    private PrefixTopKIndex index;
+    private String[][] prefixesByLength;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < words.length; i++)
+            words[i] = word(random);
+
+        TreeSet<String> distinctTexts = new TreeSet<>();
+        while (distinctTexts.size() < texts) {
+            distinctTexts.add(capitalize(words[random.nextInt(VOCABULARY)]) + " " + capitalize(
+                    words[random.nextInt(VOCABULARY)]) + " " + capitalize(words[random.nextInt(VOCABULARY)]));
+        }
+        String[] sortedTexts = distinctTexts.toArray(String[]::new);
+        int[] popularity = new int[sortedTexts.length];
+        for (int i = 0; i < popularity.length; i++)
+            popularity[i] = (int) Math.min(Integer.MAX_VALUE, Math.round(Math.exp(random.nextDouble() * 12)));
+
+        long before = usedHeap();
+        index = PrefixTopKIndex.build(sortedTexts, popularity);
+        long retained = usedHeap() - before;
+        System.out.printf("%n%d texts, %d entries: %.1f MB retained, %.1f MB per 1M texts without the texts%n",
+                index.size(), index.entryCount(), retained / 1e6, retained / 1e6 * 1_000_000 / index.size());
+
+        prefixesByLength = new String[5][PREFIXES];
+        for (int length = 1; length <= 4; length++) {
+            for (int i = 0; i < PREFIXES; i++) {
+                String word = words[random.nextInt(VOCABULARY)];
+                prefixesByLength[length][i] = word.substring(0, Math.min(length, word.length()));
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] oneLetter() {
+        return index.top(nextPrefix(1), k);
+    }
+
+    @Benchmark
+    public int[] twoLetters() {
+        return index.top(nextPrefix(2), k);
+    }
+
+    @Benchmark
+    public int[] fourLetters() {
+        return index.top(nextPrefix(4), k);
+    }
+
+    private String nextPrefix(int length) {
+        return prefixesByLength[length][next++ & (PREFIXES - 1)];
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < letters.length; i++)
+            letters[i] = (char) ('a' + random.nextInt(26));
+        return new String(letters);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PrefixTopKIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
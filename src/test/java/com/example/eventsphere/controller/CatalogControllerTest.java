@@ -0,0 +1,53 @@
+package com.example.eventsphere.controller;
+
+import com.example.eventsphere.dto.NotificationDto;
+import com.example.eventsphere.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogControllerTest extends WebTestSupport {
+
+    private static final LocalDate FROM = LocalDate.now().plusYears(5);
+
+    @Autowired
+    NotificationService notificationService;
+
+    @Test
+    void streamsCatalogAndNotificationsAsNdjson() throws Exception {
+        for (int day = -1; day < 3; day++)
+            jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, participant_count) "
+                    + "VALUES (?, ?, ?, ?)", "Catalog " + day, "Hall", FROM.plusDays(day), 1);
+        int eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+        int userId = insertUser("reader");
+        String email = email("reader", userId);
+        jdbcTemplate.update("INSERT INTO event_user (event_id, user_id) VALUES (?, ?)", eventId, userId);
+        NotificationDto notificationDto = new NotificationDto();
+        notificationDto.setUserId(userId);
+        notificationDto.setEventId(eventId);
+        notificationDto.setNotificationContent("Catalog updated");
+        notificationService.createNotification(notificationDto);
+
+        HttpResponse<String> events = get("/api/catalog/events?from=" + FROM, email);
+        assertEquals(200, events.statusCode());
+        assertEquals("application/x-ndjson", events.headers().firstValue("Content-Type").orElseThrow());
+        List<String> eventLines = events.body().lines().toList();
+        assertEquals(3, eventLines.size());
+        assertTrue(eventLines.get(0).contains("\"eventName\":\"Catalog 0\""));
+        assertTrue(eventLines.get(2).contains("\"participantCount\":1"));
+
+        List<String> counts = get("/api/catalog/participantCounts?from=" + FROM, email).body().lines().toList();
+        assertEquals("{\"eventId\":" + eventId + ",\"participantCount\":1}", counts.get(2));
+
+        List<String> notifications = get("/api/catalog/notifications?eventId=" + eventId, email).body().lines().toList();
+        assertEquals(1, notifications.size());
+        assertTrue(notifications.get(0).contains("\"notificationContent\":\"Catalog updated\""));
+        assertTrue(notifications.get(0).contains("\"read\":false"));
+    }
+}
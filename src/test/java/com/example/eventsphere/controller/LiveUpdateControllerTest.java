@@ -0,0 +1,103 @@
+package com.example.eventsphere.controller;
+
+import com.example.eventsphere.dto.NotificationDto;
+import com.example.eventsphere.service.EventService;
+import com.example.eventsphere.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LiveUpdateControllerTest extends WebTestSupport {
+
+    @Autowired
+    NotificationService notificationService;
+
+    @Autowired
+    EventService eventService;
+
+    @Test
+    void streamsUpdatesAndResumesFromLastEventId() throws Exception {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, participant_count) "
+                + "VALUES (?, ?, ?, ?)", "Concert", "Arena", LocalDate.now().plusDays(10), 1);
+        int eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+        int userId = insertUser("listener");
+        int joinerId = insertUser("joiner");
+        jdbcTemplate.update("INSERT INTO event_user (event_id, user_id) VALUES (?, ?)", eventId, userId);
+        String email = email("listener", userId);
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        CompletableFuture<?> stream = connect(email, null, lines);
+        awaitConnected(lines);
+
+        notify(userId, eventId, "Doors open at 8");
+        String firstId = awaitEvent(lines, "notification", "Doors open at 8");
+
+        eventService.joinEvent(joinerId, eventId);
+        awaitEvent(lines, "participants", "\"participantCount\":2");
+        stream.cancel(true);
+
+        notify(userId, eventId, "Encore at 11");
+        BlockingQueue<String> resumed = new LinkedBlockingQueue<>();
+        CompletableFuture<?> resumedStream = connect(email, firstId, resumed);
+        awaitEvent(resumed, "participants", "\"participantCount\":2");
+        awaitEvent(resumed, "notification", "Encore at 11");
+        resumedStream.cancel(true);
+    }
+
+    private void notify(int authorId, int eventId, String content) {
+        NotificationDto notificationDto = new NotificationDto();
+        notificationDto.setUserId(authorId);
+        notificationDto.setEventId(eventId);
+        notificationDto.setNotificationContent(content);
+        notificationService.createNotification(notificationDto);
+    }
+
+    private CompletableFuture<?> connect(String email, String lastEventId, BlockingQueue<String> lines) {
+        HttpRequest.Builder request = request("/api/stream/events", email)
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null)
+            request.header("Last-Event-ID", lastEventId);
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> {
+                    assertEquals(200, response.statusCode());
+                    response.body().forEach(lines::add);
+                });
+    }
+
+    private void awaitConnected(BlockingQueue<String> lines) throws InterruptedException {
+        assertEquals(":connected", lines.poll(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Read the stream up to the named event with matching data
+     *
+     * @return id of the event
+     */
+    private String awaitEvent(BlockingQueue<String> lines, String name, String data) throws InterruptedException {
+        String id = null;
+        String event = null;
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            assertNotNull(line, "no " + name + " event with " + data);
+            if (line.startsWith("id:"))
+                id = line.substring(3);
+            else if (line.startsWith("event:"))
+                event = line.substring(6);
+            else if (line.startsWith("data:") && name.equals(event) && line.contains(data)) {
+                assertTrue(id != null && !id.isEmpty());
+                return id;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.eventsphere.controller;
+
+import com.example.eventsphere.service.NotificationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.net.CookieManager;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageCacheTest extends WebTestSupport {
+
+    private static final Pattern VERSIONED_STYLESHEET =
+            Pattern.compile("href=\"(/assets/css/style-starter-[0-9a-f]{32}\\.css)\"");
+
+    @Autowired
+    NotificationService notificationService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    PageCacheTest() {
+        // the session is part of the page ETags, so keep it across requests
+        httpClient = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+    }
+
+    @Test
+    void answersUnchangedProfileWithNotModified() throws Exception {
+        // the second-level cache is shared with the test contexts on other databases
+        entityManagerFactory.getCache().evictAll();
+        int userId = insertUser("reader");
+        String email = email("reader", userId);
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, participant_count) "
+                + "VALUES (?, ?, ?, ?)", "Reading", "Library", LocalDate.now().plusDays(5), 1);
+        int eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+        jdbcTemplate.update("INSERT INTO event_user (event_id, user_id) VALUES (?, ?)", eventId, userId);
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, participant_count) "
+                + "VALUES (?, ?, ?, ?)", "Past Reading", "Library", LocalDate.now().minusDays(5), 1);
+        jdbcTemplate.update("INSERT INTO event_user (event_id, user_id) VALUES (?, ?)",
+                jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class), userId);
+
+        HttpResponse<String> profile = get("/displayProfile", email, null);
+        assertEquals(200, profile.statusCode());
+        assertTrue(profile.body().contains(">Reading<"));
+        assertFalse(profile.body().contains("Past Reading"));
+        assertTrue(profile.headers().firstValue("Cache-Control").orElseThrow().contains("no-cache"));
+        String etag = profile.headers().firstValue("ETag").orElseThrow();
+
+        assertEquals(304, get("/displayProfile", email, etag).statusCode());
+
+        notificationService.markAllNotificationsRead(userId);
+        HttpResponse<String> changed = get("/displayProfile", email, etag);
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+
+        // a change made through another node bumps the shared stamp
+        etag = changed.headers().firstValue("ETag").orElseThrow();
+        jdbcTemplate.update("UPDATE content_version SET version = version + 1 WHERE scope = ?", "user-" + userId);
+        assertEquals(200, get("/displayProfile", email, etag).statusCode());
+    }
+
+    @Test
+    void rendersCalendarOfUpcomingEvents() throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        String email = email("planner", insertUser("planner"));
+        LocalDate day = LocalDate.now().plusYears(2);
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date) VALUES (?, ?, ?)",
+                "Harvest Festival", "Orchard", day);
+
+        HttpResponse<String> week = get("/displayCalendar?view=WEEK&date=" + day, email, null);
+        assertEquals(200, week.statusCode());
+        assertTrue(week.body().contains("Harvest Festival"));
+        String etag = week.headers().firstValue("ETag").orElseThrow();
+        assertEquals(304, get("/displayCalendar?view=WEEK&date=" + day, email, etag).statusCode());
+
+        assertEquals(200, get("/displayCalendar", email, null).statusCode());
+    }
+
+    @Test
+    void servesAssetsUnderContentVersionedUrls() throws Exception {
+        HttpResponse<String> home = httpClient.send(HttpRequest.newBuilder(uri("/home")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher stylesheet = VERSIONED_STYLESHEET.matcher(home.body());
+        assertTrue(stylesheet.find());
+
+        HttpResponse<String> asset = httpClient.send(HttpRequest.newBuilder(uri(stylesheet.group(1))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, asset.statusCode());
+        assertTrue(asset.headers().firstValue("Cache-Control").orElseThrow().contains("immutable"));
+        assertTrue(asset.body().matches("(?s).*url\\(/assets/images/dribbble-[0-9a-f]{32}\\.gif\\).*"));
+    }
+
+    private HttpResponse<String> get(String path, String email, String etag) throws Exception {
+        HttpRequest.Builder request = request(path, email);
+        if (etag != null)
+            request.header("If-None-Match", etag);
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.eventsphere.controller;
+
+import com.example.eventsphere.dto.NotificationDto;
+import com.example.eventsphere.service.EventSuggestService;
+import com.example.eventsphere.service.NotificationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestApiTest extends WebTestSupport {
+
+    @Autowired
+    NotificationService notificationService;
+
+    @Autowired
+    EventSuggestService eventSuggestService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    int eventId;
+    int organizerId;
+    int guestId;
+
+    @BeforeEach
+    void createEvent() {
+        // the second-level cache is shared with the test contexts on other databases
+        entityManagerFactory.getCache().evictAll();
+        organizerId = insertUser("organizer");
+        guestId = insertUser("guest");
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, participant_count, user_id) "
+                + "VALUES (?, ?, ?, ?, ?)", "Workshop", "Lab", LocalDate.now().plusDays(3), 1, organizerId);
+        eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+        jdbcTemplate.update("INSERT INTO event_user (event_id, user_id) VALUES (?, ?)", eventId, guestId);
+    }
+
+    @Test
+    void exportsOnlyPagedReadOnlyResources() throws Exception {
+        String organizer = email("organizer", organizerId);
+
+        // error dispatches are not permitted, so unexported resources answer 403 rather than 404
+        assertNotEquals(200, get("/api/users", organizer).statusCode());
+        assertNotEquals(200, get("/api/events/search/reserveSeat?eventId=" + eventId, organizer).statusCode());
+        assertNotEquals(200, get("/api/notifications", organizer).statusCode());
+
+        HttpResponse<String> page = get("/api/events?size=1000", organizer);
+        assertEquals(200, page.statusCode());
+        assertTrue(page.body().contains("\"size\" : 100"));
+
+        HttpResponse<String> event = get("/api/events/" + eventId, organizer);
+        assertEquals(200, event.statusCode());
+        assertTrue(event.body().contains("\"eventName\" : \"Workshop\""));
+        assertFalse(event.body().contains("pwd"));
+        assertFalse(event.body().contains("\"participants\""));
+    }
+
+    @Test
+    void answersConditionalGetsWithNotModified() throws Exception {
+        String organizer = email("organizer", organizerId);
+        HttpResponse<String> event = get("/api/events/" + eventId, organizer);
+        String etag = event.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> unchanged = httpClient.send(request("/api/events/" + eventId, organizer)
+                .header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(304, unchanged.statusCode());
+    }
+
+    @Test
+    void listsParticipantsAndNotificationsPaged() throws Exception {
+        String organizer = email("organizer", organizerId);
+        NotificationDto notificationDto = new NotificationDto();
+        notificationDto.setUserId(organizerId);
+        notificationDto.setEventId(eventId);
+        notificationDto.setNotificationContent("Bring a laptop");
+        notificationService.createNotification(notificationDto);
+
+        HttpResponse<String> participants = get("/api/events/" + eventId + "/participants", organizer);
+        assertEquals(200, participants.statusCode());
+        assertTrue(participants.body().contains("\"username\" : \"guest" + guestId + "\""));
+        assertEquals(403, get("/api/events/" + eventId + "/participants",
+                email("guest", guestId)).statusCode());
+
+        HttpResponse<String> notifications = get("/api/notifications/search/byEvent?eventId=" + eventId, organizer);
+        assertEquals(200, notifications.statusCode());
+        assertTrue(notifications.body().contains("\"notificationContent\" : \"Bring a laptop\""));
+        assertTrue(notifications.body().contains("\"authorId\" : " + organizerId));
+        int notificationId = jdbcTemplate.queryForObject("SELECT MAX(notification_id) FROM notification WHERE event_id = ?",
+                Integer.class, eventId);
+        assertEquals(200, get("/api/notifications/" + notificationId, organizer).statusCode());
+        assertEquals(403, get("/api/notifications/search/byEvent?eventId=" + eventId,
+                email("guest", guestId)).statusCode());
+        assertEquals(403, get("/api/notifications/" + notificationId,
+                email("guest", guestId)).statusCode());
+    }
+
+    @Test
+    void suggestsEventNamesAndLocations() throws Exception {
+        String guest = email("guest", guestId);
+        eventSuggestService.rebuildIndex();
+
+        HttpResponse<String> names = get("/api/events/suggest?q=works", guest);
+        assertEquals(200, names.statusCode());
+        assertTrue(names.body().contains("\"text\" : \"Workshop\""));
+        assertTrue(names.body().contains("\"type\" : \"NAME\""));
+
+        HttpResponse<String> locations = get("/api/events/suggest?q=la&type=LOCATION&limit=5", guest);
+        assertEquals(200, locations.statusCode());
+        assertTrue(locations.body().contains("\"text\" : \"Lab\""));
+        assertFalse(locations.body().contains("Workshop"));
+    }
+
+    @Override
+    HttpRequest.Builder request(String path, String email) {
+        return super.request(path, email).header("Accept", "application/hal+json");
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.eventsphere.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the SQL statements of every page and API resource over several rows,
+ * so a query per row fails the build. Every request is sent twice and only
+ * the second one is counted, after the second-level cache has been cleared:
+ * the first one fills the login caches, the counts are those of a cold entity
+ * cache.
+ */
+class StatementCountTest extends WebTestSupport {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    String admin;
+    String member;
+    int eventId;
+
+    /**
+     * ROWS events of different organizers, with ROWS participants and ROWS
+     * notifications of different authors each, and an admin
+     */
+    @BeforeEach
+    void createData() {
+        int firstUserId = insertUser("counted");
+        for (int i = 1; i <= ROWS; i++)
+            insertUser("counted");
+        admin = email("counted", firstUserId);
+        member = email("counted", firstUserId + 1);
+
+        Integer roleId = jdbcTemplate.query("SELECT role_id FROM role WHERE role_name = 'ADMIN'",
+                rs -> rs.next() ? rs.getInt(1) : null);
+        if (roleId == null) {
+            jdbcTemplate.update("INSERT INTO role (role_name) VALUES ('ADMIN')");
+            roleId = jdbcTemplate.queryForObject("SELECT role_id FROM role WHERE role_name = 'ADMIN'",
+                    Integer.class);
+        }
+        jdbcTemplate.update("INSERT INTO user_role (user_id, role_id) VALUES (?, ?)", firstUserId, roleId);
+
+        for (int i = 0; i < ROWS; i++) {
+            jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, participant_count, "
+                    + "user_id) VALUES (?, ?, ?, ?, ?)", "Counted " + i, "Hall", LocalDate.now().plusDays(i + 1),
+                    ROWS, firstUserId + 1 + i);
+            eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+            for (int j = 1; j <= ROWS; j++) {
+                jdbcTemplate.update("INSERT INTO event_user (event_id, user_id) VALUES (?, ?)", eventId,
+                        firstUserId + j);
+                // far above the ids the application takes from notification_seq
+                int notificationId = jdbcTemplate.queryForObject(
+                        "SELECT GREATEST(COALESCE(MAX(notification_id), 0), 1000000) + 1 FROM notification",
+                        Integer.class);
+                jdbcTemplate.update("INSERT INTO notification (notification_id, notification_content, author_id, "
+                        + "event_id) VALUES (?, ?, ?, ?)", notificationId, "Note " + j, firstUserId + j, eventId);
+                jdbcTemplate.update("INSERT INTO notification_receipt (user_id, notification_id, event_id, is_read) "
+                        + "VALUES (?, ?, ?, false)", firstUserId + j, notificationId, eventId);
+            }
+        }
+    }
+
+    @Test
+    void countsStatementsOfPages() throws Exception {
+        // version stamp, organized, enrolled, waitlisted and available events in one union
+        assertStatementCount(member, "/displayEvents", 2);
+        // version stamp, events of the user, unread counters
+        assertStatementCount(member, "/displayProfile", 3);
+        // version stamp, events
+        assertStatementCount(admin, "/admin/displayEvents", 2);
+        assertStatementCount(admin, "/admin/displayNotifications", 1);
+        // event, participants
+        assertStatementCount(admin, "/admin/manageParticipants?id=" + eventId, 2);
+    }
+
+    @Test
+    void countsStatementsOfApiResources() throws Exception {
+        // page, count
+        assertStatementCount(admin, "/api/events?size=" + (ROWS - 1), 2);
+        // organizer, page
+        assertStatementCount(admin, "/api/events/" + eventId + "/participants", 2);
+        assertStatementCount(admin, "/api/notifications/search/byEvent?eventId=" + eventId, 1);
+    }
+
+    private void assertStatementCount(String email, String path, long expected) throws Exception {
+        assertEquals(200, get(path, email).statusCode(), path);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics.clear();
+        assertEquals(200, get(path, email).statusCode(), path);
+        assertEquals(expected, statistics.getPrepareStatementCount(), path);
+    }
+}
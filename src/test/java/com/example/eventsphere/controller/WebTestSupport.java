@@ -0,0 +1,76 @@
+package com.example.eventsphere.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Running server shared by the web tests, on the "web" database, with users
+ * inserted behind the application's back and requests sent as one of them
+ * over Basic authentication. The tests share the rows, so each inserts its
+ * own users and events.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "eventsphere.test-database=web")
+@ActiveProfiles("test")
+abstract class WebTestSupport {
+
+    static final String PASSWORD = "secret";
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    HttpClient httpClient = HttpClient.newHttpClient();
+
+    // encoding is slow on purpose, every user shares the hash
+    private String encodedPassword;
+
+    /**
+     * Insert a user named after the prefix and the new id, logging in with
+     * {@link #PASSWORD}
+     *
+     * @return id of the user
+     */
+    int insertUser(String prefix) {
+        if (encodedPassword == null)
+            encodedPassword = passwordEncoder.encode(PASSWORD);
+        int userId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) + 1 FROM user", Integer.class);
+        jdbcTemplate.update("INSERT INTO user (user_id, username, email, pwd) VALUES (?, ?, ?, ?)", userId,
+                prefix + userId, email(prefix, userId), encodedPassword);
+        return userId;
+    }
+
+    static String email(String prefix, int userId) {
+        return prefix + userId + "@example.com";
+    }
+
+    URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    HttpRequest.Builder request(String path, String email) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString((email + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    HttpResponse<String> get(String path, String email) throws Exception {
+        return httpClient.send(request(path, email).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.dto.EventCatalogDto;
+import com.example.eventsphere.dto.ParticipantCountDto;
+import com.example.eventsphere.service.CatalogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogServiceImplTest {
+
+    // more than a page, with several events on the same day to page across
+    private static final int EVENTS = 1201;
+
+    @Autowired
+    CatalogService catalogService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void streamsEveryPageInOrderOutsideTransactions() {
+        // far enough ahead to be the only events from that day on in the shared database
+        LocalDate from = LocalDate.now().plusYears(60);
+        jdbcTemplate.batchUpdate("INSERT INTO event (event_name, event_location, event_date) VALUES (?, ?, ?)",
+                IntStream.range(0, EVENTS)
+                        .mapToObj(i -> new Object[] { "Paged " + i, "Hall", from.plusDays(i % 7) })
+                        .toList());
+
+        List<EventCatalogDto> events = new ArrayList<>();
+        catalogService.streamEvents(from, event -> {
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+            events.add(event);
+        });
+        assertEquals(EVENTS, events.size());
+        for (int i = 1; i < events.size(); i++) {
+            EventCatalogDto previous = events.get(i - 1);
+            EventCatalogDto event = events.get(i);
+            int order = previous.getEventDate().compareTo(event.getEventDate());
+            assertEquals(-1, Integer.signum(order != 0 ? order : previous.getEventId() - event.getEventId()));
+        }
+
+        List<ParticipantCountDto> counts = new ArrayList<>();
+        catalogService.streamParticipantCounts(from, counts::add);
+        assertEquals(events.stream().map(EventCatalogDto::getEventId).toList(),
+                counts.stream().map(ParticipantCountDto::getEventId).toList());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.dto.EventSearchHitDto;
+import com.example.eventsphere.dto.EventSearchResultDto;
+import com.example.eventsphere.model.Event;
+import com.example.eventsphere.service.EventSearchService;
+import com.example.eventsphere.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventSearchServiceImplTest {
+
+    @Autowired
+    EventSearchService eventSearchService;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findsMisspelledAndUnfinishedWordsWithFacets() {
+        LocalDate today = LocalDate.now();
+        insertEvent("Harbour Jazz Night", "Quayside", today.plusDays(3));
+        insertEvent("Harbour Food Market", "Quayside", today.plusDays(20));
+        insertEvent("Harbour Regatta", "Old Docks", today.plusDays(60));
+        insertEvent("Harbour History Lecture", "Quayside", today.minusDays(5));
+        eventSearchService.rebuildIndex();
+
+        EventSearchResultDto misspelled = eventSearchService.searchEvents("harbor", null, null, null, 0, null);
+        assertEquals(4, misspelled.getTotalHits());
+        assertEquals(Map.of("Quayside", 3, "Old Docks", 1), misspelled.getLocations());
+        assertEquals(Map.of("past", 1, "next7Days", 1, "next30Days", 2, "later", 1), misspelled.getDates());
+
+        assertEquals(4, eventSearchService.searchEvents("harb", null, null, null, 0, null).getTotalHits());
+        assertEquals(List.of("Harbour Jazz Night"),
+                names(eventSearchService.searchEvents("harbour jazz nigth", null, null, null, 0, null)));
+        assertEquals(List.of("Harbour Regatta"),
+                names(eventSearchService.searchEvents("harbour old docks", null, null, null, 0, null)));
+
+        EventSearchResultDto upcomingAtQuayside = eventSearchService.searchEvents("harbour", today, null, "Quayside",
+                0, null);
+        assertEquals(List.of("Harbour Jazz Night", "Harbour Food Market"), names(upcomingAtQuayside));
+
+        EventSearchResultDto secondPage = eventSearchService.searchEvents("harbour", null, null, null, 1, 3);
+        assertEquals(4, secondPage.getTotalHits());
+        assertEquals(1, secondPage.getHits().size());
+    }
+
+    @Test
+    void followsCommittedChanges() {
+        int eventId = insertEvent("Lantern Parade", "Riverside", LocalDate.now().plusDays(9));
+        eventSearchService.rebuildIndex();
+
+        Event update = new Event();
+        update.setEventId(eventId);
+        update.setEventName("Lantern Boat Parade");
+        update.setEventDate(LocalDate.now().plusDays(9));
+        update.setEventLocation("Riverside");
+        eventService.updateEvent(update);
+        assertEquals(List.of("Lantern Boat Parade"),
+                names(eventSearchService.searchEvents("boat", null, null, null, 0, null)));
+
+        eventService.deleteEvent(eventId);
+        assertEquals(0, eventSearchService.searchEvents("lantern", null, null, null, 0, null).getTotalHits());
+    }
+
+    private int insertEvent(String eventName, String eventLocation, LocalDate eventDate) {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date) VALUES (?, ?, ?)", eventName,
+                eventLocation, eventDate);
+        return jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+    }
+
+    private static List<String> names(EventSearchResultDto result) {
+        return result.getHits().stream().map(EventSearchHitDto::getEventName).toList();
+    }
+}
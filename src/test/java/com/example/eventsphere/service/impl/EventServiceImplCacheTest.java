@@ -0,0 +1,164 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.ThreadStatementCounter;
+import com.example.eventsphere.constants.EventSortType;
+import com.example.eventsphere.dto.EventDashboardDto;
+import com.example.eventsphere.model.Event;
+import com.example.eventsphere.repository.EventRepository.EventSummary;
+import com.example.eventsphere.service.EventService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the statements the events and dashboard pages send to the database
+ * with a cold and a warm second-level/query cache, and checks that the update
+ * paths invalidate what they change.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventServiceImplCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventServiceImplCacheTest.class);
+
+    private static final int EVENTS = 30;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private int organizerId;
+    private int userId;
+    private int firstEventId;
+
+    @BeforeEach
+    void setUp() {
+        organizerId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) + 1 FROM user", Integer.class);
+        userId = organizerId + 1;
+        jdbcTemplate.batchUpdate("INSERT INTO user (user_id, username, email, pwd) VALUES (?, ?, ?, ?)",
+                IntStream.of(organizerId, userId)
+                        .mapToObj(id -> new Object[] { id, "user" + id, "user" + id + "@example.com", "pwd" })
+                        .toList());
+        jdbcTemplate.batchUpdate("INSERT INTO event (event_name, event_location, event_date, user_id) VALUES (?, ?, ?, ?)",
+                IntStream.range(0, EVENTS)
+                        .mapToObj(i -> new Object[] { "Cached " + organizerId + "-" + i, "Hall", LocalDate.now().plusDays(i + 1),
+                                organizerId })
+                        .toList());
+        firstEventId = jdbcTemplate.queryForObject("SELECT MIN(event_id) FROM event WHERE user_id = ?", Integer.class,
+                organizerId);
+
+        // the rows above were written behind Hibernate's back
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void warmCacheSavesRoundTrips() {
+        // pages put their events into the event region, so read the event first
+        long eventCold = countStatements(() -> eventService.fetchEvent(firstEventId));
+        long eventWarm = countStatements(() -> eventService.fetchEvent(firstEventId));
+        long eventsPageCold = countStatements(() -> eventService.fetchEventPage(EventSortType.DATE, null, 20));
+        long eventsPageWarm = countStatements(() -> eventService.fetchEventPage(EventSortType.DATE, null, 20));
+        long dashboardCold = countStatements(() -> eventService.fetchEventDashboard(userId, null, 20));
+        long dashboardWarm = countStatements(() -> eventService.fetchEventDashboard(userId, null, 20));
+
+        logger.info("Statements cold/warm: events page {}/{}, dashboard {}/{}, event {}/{}", eventsPageCold,
+                eventsPageWarm, dashboardCold, dashboardWarm, eventCold, eventWarm);
+        assertTrue(eventsPageCold > 0 && dashboardCold > 0 && eventCold > 0);
+        assertEquals(0, eventsPageWarm);
+        assertEquals(0, dashboardWarm);
+        assertEquals(0, eventWarm);
+    }
+
+    @Test
+    void updatePathsInvalidateCachedEvents() {
+        Event cached = eventService.fetchEvent(firstEventId);
+        Event update = new Event();
+        update.setEventId(firstEventId);
+        update.setEventName(cached.getEventName() + " (moved)");
+        update.setEventDate(cached.getEventDate());
+        update.setEventLocation("Hall B");
+        eventService.updateEvent(update);
+
+        assertEquals("Hall B", eventService.fetchEvent(firstEventId).getEventLocation());
+
+        eventService.fetchEventDashboard(userId, null, EVENTS);
+        eventService.joinEvent(userId, firstEventId);
+        EventDashboardDto dashboard = eventService.fetchEventDashboard(userId, null, EVENTS);
+        assertEquals(firstEventId, dashboard.getEnrolledEvents().get(0).getEventId());
+        assertEquals(1, eventService.fetchEvent(firstEventId).getParticipantCount());
+
+        eventService.fetchEventPage(EventSortType.DATE, null, EVENTS);
+        eventService.deleteEvent(firstEventId);
+
+        assertNull(eventService.fetchEvent(firstEventId));
+        assertTrue(eventService.fetchEventPage(EventSortType.DATE, null, EVENTS).getContent().stream()
+                .noneMatch(event -> event.getEventId() == firstEventId));
+        assertTrue(eventService.fetchEventDashboard(userId, null, EVENTS).getEnrolledEvents().stream()
+                .map(EventSummary::getEventId)
+                .noneMatch(eventId -> eventId == firstEventId));
+    }
+
+    @Test
+    void joinAndLeaveKeepOtherCachedEvents() {
+        int otherEventId = firstEventId + 1;
+        eventService.fetchEventPage(EventSortType.DATE, null, 20);
+        eventService.fetchEvent(firstEventId);
+        eventService.fetchEvent(otherEventId);
+
+        eventService.joinEvent(userId, firstEventId);
+        // the cached page reloads at most the joined event, unless a listener did already
+        assertTrue(countStatements(() -> eventService.fetchEventPage(EventSortType.DATE, null, 20)) <= 1);
+        assertEquals(0, countStatements(() -> eventService.fetchEvent(otherEventId)));
+        assertEquals(1, eventService.fetchEvent(firstEventId).getParticipantCount());
+
+        eventService.leaveEvent(userId, firstEventId);
+        assertEquals(0, countStatements(() -> eventService.fetchEvent(otherEventId)));
+        assertEquals(0, eventService.fetchEvent(firstEventId).getParticipantCount());
+    }
+
+    @Test
+    void joinAndLeaveRefreshOrganizerDashboardCounts() {
+        assertEquals(0, participantsCount(eventService.fetchEventDashboard(organizerId, null, EVENTS)));
+
+        eventService.joinEvent(userId, firstEventId);
+        assertEquals(1, participantsCount(eventService.fetchEventDashboard(organizerId, null, EVENTS)));
+
+        eventService.leaveEvent(userId, firstEventId);
+        assertEquals(0, participantsCount(eventService.fetchEventDashboard(organizerId, null, EVENTS)));
+    }
+
+    private long participantsCount(EventDashboardDto dashboard) {
+        return dashboard.getOrganizedEvents().stream()
+                .filter(event -> event.getEventId() == firstEventId)
+                .findFirst().orElseThrow()
+                .getParticipantsCount();
+    }
+
+    /**
+     * Only the statements of this thread, the live update and suggest listeners
+     * read events on their own threads meanwhile
+     */
+    private long countStatements(Supplier<?> page) {
+        return ThreadStatementCounter.count(page::get);
+    }
+}
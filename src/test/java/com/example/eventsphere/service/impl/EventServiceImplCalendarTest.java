@@ -0,0 +1,110 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.constants.CalendarView;
+import com.example.eventsphere.dto.EventCalendarBucketDto;
+import com.example.eventsphere.dto.EventCalendarDto;
+import com.example.eventsphere.model.Event;
+import com.example.eventsphere.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventServiceImplCalendarTest {
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void countsAndListsEventsPerWeekAndDay() {
+        // far enough ahead to be the only events of that month in the shared database
+        LocalDate month = LocalDate.now().plusYears(50).withMonth(3).withDayOfMonth(1);
+        LocalDate day = month.with(TemporalAdjusters.firstInMonth(DayOfWeek.WEDNESDAY)).plusWeeks(1);
+        insertEvent("Spring Fair", day);
+        insertEvent("Spring Concert", day);
+        int enrolledEventId = insertEvent("Spring Run", day.plusDays(1));
+        insertEvent("April Picnic", month.plusMonths(1).plusDays(2));
+        int userId = insertUser();
+        jdbcTemplate.update("INSERT INTO event_user (event_id, user_id) VALUES (?, ?)", enrolledEventId, userId);
+
+        EventCalendarDto calendar = eventService.fetchCalendar(userId, CalendarView.MONTH, day);
+        assertEquals(month, calendar.getFrom());
+        assertEquals(month.plusMonths(1), calendar.getTo());
+        assertEquals(month.minusMonths(1), calendar.getPrevious());
+        assertEquals(3, calendar.getEventCount());
+        assertEquals(month, calendar.getBuckets().get(0).getFrom());
+        assertEquals(month.plusMonths(1), calendar.getBuckets().get(calendar.getBuckets().size() - 1).getTo());
+        EventCalendarBucketDto week = bucketOf(calendar, day);
+        assertEquals(day.minusDays(2), week.getFrom());
+        assertEquals(3, week.getEventCount());
+        assertEquals(List.of("Spring Fair", "Spring Concert", "Spring Run"), names(week));
+        assertTrue(calendar.getEnrolledEventIds().contains(enrolledEventId));
+
+        EventCalendarDto days = eventService.fetchCalendar(userId, CalendarView.WEEK, day);
+        assertEquals(7, days.getBuckets().size());
+        assertEquals(DayOfWeek.MONDAY, days.getFrom().getDayOfWeek());
+        assertEquals(List.of("Spring Fair", "Spring Concert"), names(bucketOf(days, day)));
+        assertEquals(List.of("Spring Run"), eventService.findEventsByUserIdBetween(userId, month,
+                month.plusMonths(1)).stream().map(Event::getEventName).toList());
+    }
+
+    @Test
+    void skipsPastDays() {
+        LocalDate today = LocalDate.now();
+        int userId = insertUser();
+        int pastEventId = insertEvent("Yesterday's Workshop", today.minusDays(1));
+        int upcomingEventId = insertEvent("Tomorrow's Workshop", today.plusDays(1));
+        jdbcTemplate.update("INSERT INTO event_user (event_id, user_id) VALUES (?, ?), (?, ?)", pastEventId, userId,
+                upcomingEventId, userId);
+
+        EventCalendarDto thisWeek = eventService.fetchCalendar(userId, CalendarView.WEEK, today);
+        assertEquals(today, thisWeek.getBuckets().get(0).getFrom());
+        assertNull(thisWeek.getPrevious());
+
+        EventCalendarDto past = eventService.fetchCalendar(userId, CalendarView.MONTH, today.minusMonths(2));
+        assertTrue(past.getBuckets().isEmpty());
+        assertEquals(0, past.getEventCount());
+
+        assertEquals(List.of("Tomorrow's Workshop"),
+                eventService.findUpcomingEventsByUserId(userId).stream().map(Event::getEventName).toList());
+    }
+
+    private static EventCalendarBucketDto bucketOf(EventCalendarDto calendar, LocalDate day) {
+        return calendar.getBuckets().stream()
+                .filter(bucket -> !day.isBefore(bucket.getFrom()) && day.isBefore(bucket.getTo()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<String> names(EventCalendarBucketDto bucket) {
+        return bucket.getEvents().stream().map(Event::getEventName).toList();
+    }
+
+    private int insertUser() {
+        int userId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) + 1 FROM user", Integer.class);
+        jdbcTemplate.update("INSERT INTO user (user_id, username, email, pwd) VALUES (?, ?, ?, ?)", userId,
+                "calendar" + userId, "calendar" + userId + "@example.com", "secret");
+        return userId;
+    }
+
+    private int insertEvent(String eventName, LocalDate eventDate) {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date) VALUES (?, ?, ?)", eventName,
+                "Town Hall", eventDate);
+        return jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+    }
+}
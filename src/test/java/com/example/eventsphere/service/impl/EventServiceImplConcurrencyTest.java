@@ -0,0 +1,179 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.constants.EventJoinStatus;
+import com.example.eventsphere.exception.ResourceNotFoundException;
+import com.example.eventsphere.repository.EventRepository;
+import com.example.eventsphere.service.ContentVersionService;
+import com.example.eventsphere.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventServiceImplConcurrencyTest {
+
+    private static final int CAPACITY = 100;
+    private static final int USERS = 2000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    ContentVersionService contentVersionService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentJoinsNeverExceedCapacity() throws Exception {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, capacity) VALUES (?, ?, ?, ?)",
+                "Launch", "Hall A", LocalDate.now().plusDays(30), CAPACITY);
+        int eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+        int firstUserId = insertUsers(USERS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<EventJoinStatus>> results = new ArrayList<>();
+        // every user joins twice to also exercise idempotency under contention
+        for (int i = 0; i < USERS * 2; i++) {
+            int userId = firstUserId + (i % USERS);
+            results.add(executor.submit(() -> {
+                start.await();
+                return eventService.joinEvent(userId, eventId);
+            }));
+        }
+        start.countDown();
+
+        Map<EventJoinStatus, Integer> statusCounts = new EnumMap<>(EventJoinStatus.class);
+        for (Future<EventJoinStatus> result : results)
+            statusCounts.merge(result.get(), 1, Integer::sum);
+        executor.shutdown();
+
+        assertEquals(CAPACITY, statusCounts.getOrDefault(EventJoinStatus.JOINED, 0));
+        assertEquals(CAPACITY, eventRepository.findById(eventId).getParticipantCount());
+        assertEquals(CAPACITY, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_user WHERE event_id = ?", Integer.class, eventId));
+        assertEquals(0, eventService.reconcileParticipantCounts());
+        assertEquals(USERS - CAPACITY, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_waitlist WHERE event_id = ?", Integer.class, eventId));
+        int lastUserId = jdbcTemplate.queryForObject(
+                "SELECT user_id FROM event_waitlist WHERE event_id = ? ORDER BY ticket DESC LIMIT 1", Integer.class,
+                eventId);
+        assertEquals(USERS - CAPACITY, eventService.findWaitlistPosition(lastUserId, eventId));
+    }
+
+    @Test
+    void leaveEventPromotesHeadOfWaitlist() {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, capacity) VALUES (?, ?, ?, ?)",
+                "Workshop", "Room 1", LocalDate.now().plusDays(30), 1);
+        int eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+        int firstUserId = insertUsers(3);
+
+        assertEquals(EventJoinStatus.JOINED, eventService.joinEvent(firstUserId, eventId));
+        assertEquals(EventJoinStatus.WAITLISTED, eventService.joinEvent(firstUserId + 1, eventId));
+        assertEquals(EventJoinStatus.WAITLISTED, eventService.joinEvent(firstUserId + 2, eventId));
+        assertEquals(2, eventService.findWaitlistPosition(firstUserId + 2, eventId));
+
+        eventService.leaveEvent(firstUserId, eventId);
+
+        assertEquals(List.of(firstUserId + 1), jdbcTemplate.queryForList(
+                "SELECT user_id FROM event_user WHERE event_id = ?", Integer.class, eventId));
+        assertEquals(1, eventService.findWaitlistPosition(firstUserId + 2, eventId));
+        assertEquals(1, eventRepository.findById(eventId).getParticipantCount());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification_receipt WHERE event_id = ? AND user_id = ?", Integer.class, eventId,
+                firstUserId + 1));
+    }
+
+    @Test
+    void waitlistPositionCountsOnlyUsersStillWaitingAhead() {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, capacity) VALUES (?, ?, ?, ?)",
+                "Masterclass", "Room 2", LocalDate.now().plusDays(30), 1);
+        int eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+        int firstUserId = insertUsers(4);
+
+        assertEquals(EventJoinStatus.JOINED, eventService.joinEvent(firstUserId, eventId));
+        assertEquals(EventJoinStatus.WAITLISTED, eventService.joinEvent(firstUserId + 1, eventId));
+        assertEquals(EventJoinStatus.WAITLISTED, eventService.joinEvent(firstUserId + 2, eventId));
+        // joining again keeps the ticket instead of drawing a new one
+        assertEquals(EventJoinStatus.WAITLISTED, eventService.joinEvent(firstUserId + 1, eventId));
+        assertEquals(EventJoinStatus.WAITLISTED, eventService.joinEvent(firstUserId + 3, eventId));
+        assertEquals(3, eventService.findWaitlistPosition(firstUserId + 3, eventId));
+
+        eventService.leaveEvent(firstUserId + 1, eventId);
+
+        assertEquals(1, eventService.findWaitlistPosition(firstUserId + 2, eventId));
+        assertEquals(2, eventService.findWaitlistPosition(firstUserId + 3, eventId));
+        assertEquals(2, eventService.fetchEventDashboard(firstUserId + 3, null, 20).getWaitlistPositions()
+                .get(eventId));
+    }
+
+    @Test
+    void waitlistRanksMatchTheEntriesAheadAfterLeaves() {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, capacity) VALUES (?, ?, ?, ?)",
+                "Keynote", "Room 4", LocalDate.now().plusDays(30), 1);
+        int eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+        int users = 40;
+        int firstUserId = insertUsers(users);
+        for (int i = 0; i < users; i++)
+            eventService.joinEvent(firstUserId + i, eventId);
+        // promotions off the head and leaves from the middle of the queue
+        for (int i = 0; i < users; i += 3)
+            eventService.leaveEvent(firstUserId + i, eventId);
+
+        for (int i = 0; i < users; i++) {
+            Long ticket = jdbcTemplate.query("SELECT ticket FROM event_waitlist WHERE event_id = ? AND user_id = ?",
+                    rs -> rs.next() ? rs.getLong(1) : null, eventId, firstUserId + i);
+            Long expected = ticket == null ? null : jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM event_waitlist WHERE event_id = ? AND ticket <= ?", Long.class, eventId,
+                    ticket);
+            assertEquals(expected, eventService.findWaitlistPosition(firstUserId + i, eventId));
+        }
+    }
+
+    @Test
+    void joinOfUnknownEventIsNotFoundAndRepeatedJoinKeepsCatalogVersion() {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, capacity) VALUES (?, ?, ?, ?)",
+                "Seminar", "Room 3", LocalDate.now().plusDays(30), 1);
+        int eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+        int userId = insertUsers(1);
+
+        assertThrows(ResourceNotFoundException.class, () -> eventService.joinEvent(userId, eventId + 1000));
+
+        assertEquals(EventJoinStatus.JOINED, eventService.joinEvent(userId, eventId));
+        String catalogVersion = contentVersionService.fetchCatalogVersion();
+        assertEquals(EventJoinStatus.ALREADY_JOINED, eventService.joinEvent(userId, eventId));
+        assertEquals(catalogVersion, contentVersionService.fetchCatalogVersion());
+    }
+
+    private int insertUsers(int count) {
+        int firstUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) + 1 FROM user", Integer.class);
+        jdbcTemplate.batchUpdate("INSERT INTO user (user_id, username, email, pwd) VALUES (?, ?, ?, ?)",
+                IntStream.range(0, count)
+                        .mapToObj(i -> new Object[] { firstUserId + i, "user" + i, "user" + (firstUserId + i) + "@example.com",
+                                "pwd" })
+                        .toList());
+        return firstUserId;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.constants.EventSuggestionType;
+import com.example.eventsphere.dto.EventSuggestionDto;
+import com.example.eventsphere.model.Event;
+import com.example.eventsphere.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventSuggestServiceImplTest {
+
+    @Autowired
+    EventSuggestServiceImpl eventSuggestService;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void suggestsMostPopularNamesAndLocationsByWordPrefix() {
+        insertEvent("Zephyr Kite Festival", "Zephyr Beach", 40);
+        insertEvent("Zephyr Kite Festival", "Zephyr Dunes", 15);
+        insertEvent("Zéphyr Choir", "Zephyr Hall", 30);
+        insertEvent("Night of the Zephyrs", "Zephyr Beach", 5);
+        eventSuggestService.rebuildIndex();
+
+        assertEquals(List.of(name("Zephyr Kite Festival", 55), name("Zéphyr Choir", 30),
+                        name("Night of the Zephyrs", 5)),
+                eventSuggestService.suggest("zeph", EventSuggestionType.NAME, null));
+        assertEquals(List.of(location("Zephyr Beach", 45), location("Zephyr Hall", 30)),
+                eventSuggestService.suggest("ZEPHYR ", EventSuggestionType.LOCATION, 2));
+        assertEquals(List.of(name("Zephyr Kite Festival", 55)),
+                eventSuggestService.suggest("zephyr kite f", null, null));
+        assertEquals(List.of(name("Zephyr Kite Festival", 55), location("Zephyr Beach", 45)),
+                eventSuggestService.suggest("zeph", null, 2));
+        assertTrue(eventSuggestService.suggest("ephyr", null, null).isEmpty());
+    }
+
+    @Test
+    void followsCommittedChanges() {
+        int eventId = insertEvent("Quokka Meetup", "Quokka Island", 0);
+        eventSuggestService.rebuildIndex();
+
+        int participantId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) + 1 FROM user",
+                Integer.class);
+        jdbcTemplate.update("INSERT INTO user (user_id, username, email, pwd) VALUES (?, ?, ?, ?)", participantId,
+                "quokka" + participantId, "quokka" + participantId + "@example.com", "secret");
+        eventService.joinEvent(participantId, eventId);
+        eventSuggestService.applyChanges();
+        assertEquals(List.of(name("Quokka Meetup", 1)),
+                eventSuggestService.suggest("quokka", EventSuggestionType.NAME, null));
+
+        Event update = new Event();
+        update.setEventId(eventId);
+        update.setEventName("Quokka Picnic");
+        update.setEventDate(LocalDate.now().plusDays(5));
+        update.setEventLocation("Quokka Island");
+        eventService.updateEvent(update);
+        eventSuggestService.applyChanges();
+        assertEquals(List.of(name("Quokka Picnic", 1)),
+                eventSuggestService.suggest("quokka", EventSuggestionType.NAME, null));
+
+        eventService.deleteEvent(eventId);
+        eventSuggestService.applyChanges();
+        assertTrue(eventSuggestService.suggest("quokka", null, null).isEmpty());
+    }
+
+    private int insertEvent(String eventName, String eventLocation, int participantCount) {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, participant_count) "
+                + "VALUES (?, ?, ?, ?)", eventName, eventLocation, LocalDate.now().plusDays(5), participantCount);
+        return jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+    }
+
+    private static EventSuggestionDto name(String text, int participantCount) {
+        return new EventSuggestionDto(text, EventSuggestionType.NAME, participantCount);
+    }
+
+    private static EventSuggestionDto location(String text, int participantCount) {
+        return new EventSuggestionDto(text, EventSuggestionType.LOCATION, participantCount);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.constants.BroadcastStatus;
+import com.example.eventsphere.dto.BroadcastJobDto;
+import com.example.eventsphere.dto.NotificationDto;
+import com.example.eventsphere.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationServiceImplBroadcastTest {
+
+    private static final int PARTICIPANTS = 1234;
+
+    @Autowired
+    NotificationService notificationService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void broadcastNotifiesEveryParticipant() throws InterruptedException {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, participant_count) "
+                + "VALUES (?, ?, ?, ?)", "Festival", "Park", LocalDate.now().plusDays(30), PARTICIPANTS);
+        int eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+        int firstUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) + 1 FROM user", Integer.class);
+        jdbcTemplate.batchUpdate("INSERT INTO user (user_id, username, email, pwd) VALUES (?, ?, ?, ?)",
+                IntStream.range(firstUserId, firstUserId + PARTICIPANTS)
+                        .mapToObj(id -> new Object[] { id, "user" + id, "user" + id + "@example.com", "pwd" })
+                        .toList());
+        jdbcTemplate.batchUpdate("INSERT INTO event_user (event_id, user_id) VALUES (?, ?)",
+                IntStream.range(firstUserId, firstUserId + PARTICIPANTS)
+                        .mapToObj(id -> new Object[] { eventId, id })
+                        .toList());
+
+        NotificationDto notificationDto = new NotificationDto();
+        notificationDto.setEventId(eventId);
+        notificationDto.setNotificationContent("Gates open at 6pm");
+        String jobId = notificationService.broadcastNotification(notificationDto);
+
+        BroadcastJobDto job = notificationService.fetchBroadcastJob(jobId).orElseThrow();
+        for (int i = 0; i < 300 && job.getStatus() != BroadcastStatus.COMPLETED
+                && job.getStatus() != BroadcastStatus.FAILED; i++) {
+            Thread.sleep(100);
+            job = notificationService.fetchBroadcastJob(jobId).orElseThrow();
+        }
+
+        assertEquals(BroadcastStatus.COMPLETED, job.getStatus());
+        assertEquals(PARTICIPANTS, job.getTotalRecipients());
+        assertEquals(PARTICIPANTS, job.getNotifiedRecipients());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification WHERE event_id = ? AND notification_content = ?",
+                Integer.class, eventId, "Gates open at 6pm"));
+        assertEquals(PARTICIPANTS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification_receipt WHERE event_id = ? AND is_read = FALSE", Integer.class,
+                eventId));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.dto.NotificationDto;
+import com.example.eventsphere.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationServiceImplUnreadCountTest {
+
+    @Autowired
+    NotificationService notificationService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    int eventId;
+    int authorId;
+    int participantId;
+
+    @BeforeEach
+    void createEventWithParticipants() {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date, participant_count) "
+                + "VALUES (?, ?, ?, ?)", "Meetup", "Library", LocalDate.now().plusDays(7), 2);
+        eventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+        authorId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) + 1 FROM user", Integer.class);
+        participantId = authorId + 1;
+        for (int userId : List.of(authorId, participantId)) {
+            jdbcTemplate.update("INSERT INTO user (user_id, username, email, pwd) VALUES (?, ?, ?, ?)", userId,
+                    "user" + userId, "user" + userId + "@example.com", "pwd");
+            jdbcTemplate.update("INSERT INTO event_user (event_id, user_id) VALUES (?, ?)", eventId, userId);
+        }
+    }
+
+    @Test
+    void countersFollowDeliveriesAndReads() {
+        notify("Doors open at 7");
+        notify("Bring a pen");
+        assertCounts(2);
+
+        int notificationId = notificationId("Doors open at 7");
+        notificationService.markNotificationRead(participantId, notificationId);
+        notificationService.markNotificationRead(participantId, notificationId);
+        assertEquals(1, notificationService.findUnreadNotificationCount(participantId, eventId));
+
+        // sending the same content again makes it unread once more
+        notify("Doors open at 7");
+        assertCounts(2);
+
+        notificationService.markEventNotificationsRead(participantId, eventId);
+        assertEquals(0, notificationService.findUnreadNotificationCount(participantId, eventId));
+        assertTrue(notificationService.findEventIdsWithUnreadNotificationCounts(participantId).stream()
+                .noneMatch(pair -> ((Number) pair[0]).intValue() == eventId));
+
+        notificationService.deleteNotifications(notificationId("Bring a pen"));
+        assertEquals(1, notificationService.findUnreadNotificationCount(authorId, eventId));
+
+        notificationService.markAllNotificationsRead(authorId);
+        assertCounts(0);
+    }
+
+    private void notify(String content) {
+        NotificationDto notificationDto = new NotificationDto();
+        notificationDto.setUserId(authorId);
+        notificationDto.setEventId(eventId);
+        notificationDto.setNotificationContent(content);
+        notificationService.createNotification(notificationDto);
+    }
+
+    private int notificationId(String content) {
+        return jdbcTemplate.queryForObject(
+                "SELECT notification_id FROM notification WHERE event_id = ? AND notification_content = ?",
+                Integer.class, eventId, content);
+    }
+
+    /**
+     * Counters of both users match the expected count and a recount of their
+     * unread receipts
+     */
+    private void assertCounts(int expected) {
+        for (int userId : List.of(authorId, participantId)) {
+            assertEquals(expected, notificationService.findUnreadNotificationCount(userId, eventId));
+            assertEquals(expected, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_receipt "
+                    + "WHERE user_id = ? AND event_id = ? AND is_read = FALSE", Integer.class, userId, eventId));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.model.Event;
+import com.example.eventsphere.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reminders;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;"
+                + "DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=60000",
+        "eventsphere.communication.sender=file",
+        "eventsphere.communication.file=" + ReminderServiceImplTest.OUTBOX,
+        "eventsphere.reminders.offsets=PT24H,PT1H",
+        "eventsphere.reminders.event-start-time=09:00",
+        "eventsphere.reminders.poll-interval=PT1H" })
+@ActiveProfiles("test")
+class ReminderServiceImplTest {
+
+    static final String OUTBOX = "target/reminder-test-outbox.log";
+
+    @Autowired
+    ReminderServiceImpl reminderService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EventService eventService;
+
+    @Test
+    void sendsDueRemindersOnceToEveryParticipant() throws IOException, InterruptedException {
+        Path outbox = Path.of(OUTBOX);
+        Files.deleteIfExists(outbox);
+        LocalDate eventDate = LocalDate.now().plusDays(2);
+        int eventId = insertEvent("Harbour Cleanup", eventDate);
+        insertParticipant(eventId, "ana");
+        insertParticipant(eventId, "ben");
+
+        reminderService.rescheduleReminders(eventId);
+        assertEquals(List.of(eventDate.atTime(8, 0), eventDate.minusDays(1).atTime(9, 0)),
+                jdbcTemplate.queryForList("SELECT due_at FROM event_reminder WHERE event_id = ? ORDER BY due_at DESC",
+                        LocalDateTime.class, eventId));
+
+        jdbcTemplate.update("UPDATE event_reminder SET due_at = ? WHERE event_id = ?",
+                LocalDateTime.now().minusMinutes(1), eventId);
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(2, reminderService.claimDueReminders(now, 10).size());
+        // leased to the first claim, as if another node asked
+        assertEquals(0, reminderService.claimDueReminders(now, 10).size());
+
+        // the lease of a node that died expires
+        jdbcTemplate.update("UPDATE event_reminder SET lease_until = ? WHERE event_id = ?", now.minusSeconds(1),
+                eventId);
+        assertEquals(2, reminderService.dispatchDueReminders());
+        assertEquals(0, reminderService.dispatchDueReminders());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_reminder WHERE event_id = ? AND sent_at IS NULL", Integer.class, eventId));
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_receipt r "
+                + "JOIN notification n ON n.notification_id = r.notification_id WHERE n.event_id = ?",
+                Integer.class, eventId));
+
+        List<String> lines = List.of();
+        for (int i = 0; i < 100 && lines.size() < 4; i++) {
+            Thread.sleep(50);
+            lines = Files.exists(outbox) ? Files.readAllLines(outbox) : List.of();
+        }
+        assertEquals(4, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.contains("Upcoming event: Harbour Cleanup")));
+
+        // moving the event arms the sent reminders again for the new date
+        Event event = eventService.fetchEvent(eventId);
+        event.setEventDate(eventDate.plusDays(7));
+        eventService.updateEvent(event);
+        assertEquals(List.of(eventDate.plusDays(7).atTime(LocalTime.of(8, 0))), jdbcTemplate.queryForList(
+                "SELECT due_at FROM event_reminder WHERE event_id = ? AND sent_at IS NULL AND offset_minutes = 60",
+                LocalDateTime.class, eventId));
+    }
+
+    @Test
+    void schedulesUpcomingEventsOnce() {
+        int upcomingEventId = insertEvent("Night Market", LocalDate.now().plusDays(3));
+        int pastEventId = insertEvent("Old Fair", LocalDate.now().minusDays(3));
+
+        assertTrue(reminderService.scheduleUpcomingReminders() >= 2);
+        assertEquals(0, reminderService.scheduleUpcomingReminders());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_reminder WHERE event_id = ?",
+                Integer.class, upcomingEventId));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_reminder WHERE event_id = ?",
+                Integer.class, pastEventId));
+    }
+
+    private int insertEvent(String eventName, LocalDate eventDate) {
+        jdbcTemplate.update("INSERT INTO event (event_name, event_location, event_date) VALUES (?, ?, ?)", eventName,
+                "Pier 4", eventDate);
+        return jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM event", Integer.class);
+    }
+
+    private void insertParticipant(int eventId, String username) {
+        int userId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) + 1 FROM user", Integer.class);
+        jdbcTemplate.update("INSERT INTO user (user_id, username, email, pwd) VALUES (?, ?, ?, ?)", userId,
+                username, username + userId + "@example.com", "secret");
+        jdbcTemplate.update("INSERT INTO event_user (event_id, user_id) VALUES (?, ?)", eventId, userId);
+    }
+}
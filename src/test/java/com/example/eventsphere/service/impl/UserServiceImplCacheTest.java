@@ -0,0 +1,81 @@
+package com.example.eventsphere.service.impl;
+
+import com.example.eventsphere.constants.UserConstants;
+import com.example.eventsphere.dto.UserAccountDto;
+import com.example.eventsphere.repository.UserRepository;
+import com.example.eventsphere.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceImplCacheTest {
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void evictsCachedAccountOnceThePasswordChangeCommitted() {
+        String email = insertUser("old-hash");
+        UserAccountDto account = userRepository.findAccountByEmail(email).orElseThrow();
+        assertSame(account, userRepository.findAccountByEmail(email).orElseThrow());
+        Cache accounts = cacheManager.getCache(UserConstants.USERS_BY_EMAIL_CACHE);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.upgradePassword(email, "old-hash", "new-hash");
+            // readers keep the committed snapshot until the change is visible
+            assertNotNull(accounts.get(email));
+        });
+
+        assertNull(accounts.get(email));
+        assertEquals("new-hash", userRepository.findAccountByEmail(email).orElseThrow().getPwd());
+    }
+
+    @Test
+    void deleteEvictsOnlyTheRolesOfTheDeletedUser() {
+        String deletedEmail = insertUser("pwd");
+        String keptEmail = insertUser("pwd");
+        int deletedUserId = userRepository.findAccountByEmail(deletedEmail).orElseThrow().getUserId();
+        int keptUserId = userRepository.findAccountByEmail(keptEmail).orElseThrow().getUserId();
+        userRepository.findRolesByUserId(deletedUserId);
+        userRepository.findRolesByUserId(keptUserId);
+        Cache roles = cacheManager.getCache(UserConstants.ROLES_BY_USER_ID_CACHE);
+
+        userService.deleteUser(deletedEmail);
+
+        assertNull(roles.get(deletedUserId));
+        assertNotNull(roles.get(keptUserId));
+        assertNull(cacheManager.getCache(UserConstants.USERS_BY_EMAIL_CACHE).get(deletedEmail));
+    }
+
+    private String insertUser(String pwd) {
+        int userId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(user_id), 0) + 1 FROM user", Integer.class);
+        String email = "cached" + userId + "@example.com";
+        jdbcTemplate.update("INSERT INTO user (user_id, username, email, pwd) VALUES (?, ?, ?, ?)", userId,
+                "cached" + userId, email, pwd);
+        return email;
+    }
+}